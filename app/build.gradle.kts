@@ -44,6 +44,20 @@ android {
         )
         buildConfigField("String", "DEEPAI_API_KEY", "\"4e006901-a82f-4f28-8491-a037ee4d8aa2\"")
 
+        // -Pfirebase.emulator=true points Auth, Firestore and Storage at the local
+        // emulators (firebase emulators:start, see firebase.json); 10.0.2.2 is the host
+        // as seen from the Android emulator
+        buildConfigField(
+            "boolean",
+            "USE_FIREBASE_EMULATOR",
+            (findProperty("firebase.emulator") ?: "false").toString()
+        )
+        buildConfigField(
+            "String",
+            "FIREBASE_EMULATOR_HOST",
+            "\"" + (findProperty("firebase.emulatorHost") ?: "10.0.2.2") + "\""
+        )
+
 
     }
 
@@ -66,6 +80,23 @@ android {
         targetCompatibility = JavaVersion.VERSION_11
     }
 
+    // species.db is memory-mapped through openFd(), which needs it stored uncompressed
+    androidResources {
+        noCompress += "db"
+    }
+
+    testOptions {
+        unitTests {
+            // android.util.Log and friends return defaults, so WikipediaFetcher runs on the JVM
+            isReturnDefaultValues = true
+            all { test ->
+                // ./gradlew :app:testDebugUnitTest -Preplay.profiles=all (see ReplayBenchmark)
+                project.properties.filterKeys { it.startsWith("replay.") }
+                    .forEach { (key, value) -> test.systemProperty(key, value.toString()) }
+            }
+        }
+    }
+
     packaging {        resources {
         excludes += "/META-INF/{AL2.0,LGPL2.1,DEPENDENCIES,INDEX.LIST}"
 
@@ -119,6 +150,7 @@ dependencies {
 
     // Testing
     testImplementation(libs.junit)
+    testImplementation(libs.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
     //    implementation(libs.core.ktx.v1120)
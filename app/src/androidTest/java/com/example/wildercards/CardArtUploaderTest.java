@@ -0,0 +1,173 @@
+package com.example.wildercards;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.ListResult;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Uploads card art against the Firebase emulators. Start them with
+ * firebase emulators:start --only auth,storage
+ * and run ./gradlew connectedDebugAndroidTest -Pfirebase.emulator=true
+ * Skipped in builds without the emulator flag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CardArtUploaderTest {
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private String userId;
+
+    @Before
+    public void signIn() throws Exception {
+        assumeTrue("Needs -Pfirebase.emulator=true", BuildConfig.USE_FIREBASE_EMULATOR);
+        FirebaseAuth auth = FirebaseAuth.getInstance();
+        auth.signOut();
+        // A fresh anonymous user per test, so its card_art directory starts empty
+        userId = Tasks.await(auth.signInAnonymously(), TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .getUser().getUid();
+    }
+
+    @Test
+    public void uploadsFullSizeAndThumbnailAsWebp() throws Exception {
+        String[] urls = upload(testArt());
+
+        byte[] full = download(urls[0]);
+        byte[] thumbnail = download(urls[1]);
+        assertWebp(full);
+        assertWebp(thumbnail);
+
+        BitmapFactory.Options bounds = decodeBounds(full);
+        assertEquals(512, bounds.outWidth);
+        assertEquals(512, bounds.outHeight);
+        bounds = decodeBounds(thumbnail);
+        assertEquals(CardArtUploader.THUMBNAIL_SIZE, bounds.outWidth);
+        assertEquals(CardArtUploader.THUMBNAIL_SIZE, bounds.outHeight);
+        assertTrue(thumbnail.length < full.length);
+
+        for (StorageReference item : listArt().getItems()) {
+            StorageMetadata metadata = Tasks.await(item.getMetadata(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals("image/webp", metadata.getContentType());
+            assertTrue(metadata.getCacheControl(), metadata.getCacheControl().contains("immutable"));
+        }
+    }
+
+    @Test
+    public void savingTheSameArtTwiceStoresItOnce() throws Exception {
+        File art = testArt();
+        String[] first = upload(art);
+        String[] second = upload(art);
+
+        assertEquals(first[0].split("\\?")[0], second[0].split("\\?")[0]);
+        assertEquals(2, listArt().getItems().size());
+    }
+
+    /**
+     * Uploads art and returns {full URL, thumbnail URL}.
+     */
+    private String[] upload(File art) throws Exception {
+        String[] urls = new String[2];
+        String[] error = new String[1];
+        CountDownLatch done = new CountDownLatch(1);
+        CardArtUploader.upload(userId, art, new CardArtUploader.UploadCallback() {
+            @Override
+            public void onSuccess(String imageUrl, String thumbnailUrl) {
+                urls[0] = imageUrl;
+                urls[1] = thumbnailUrl;
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(String message) {
+                error[0] = message;
+                done.countDown();
+            }
+        });
+        assertTrue("Upload timed out", done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertNull(error[0]);
+        return urls;
+    }
+
+    private ListResult listArt() throws Exception {
+        StorageReference dir = FirebaseStorage.getInstance().getReference().child("card_art").child(userId);
+        return Tasks.await(dir.listAll(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A 512x512 image file like the generator's, with enough detail not to compress to
+     * nothing.
+     */
+    private static File testArt() throws Exception {
+        Bitmap art = Bitmap.createBitmap(512, 512, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(art);
+        canvas.drawColor(Color.rgb(30, 120, 60));
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        for (int i = 0; i < 16; i++) {
+            paint.setColor(Color.HSVToColor(new float[]{i * 22.5f, 0.8f, 0.9f}));
+            canvas.drawCircle(32 + i * 28, 256 + (i % 2 == 0 ? -80 : 80), 40, paint);
+        }
+        File file = File.createTempFile("art", ".png",
+                InstrumentationRegistry.getInstrumentation().getTargetContext().getCacheDir());
+        try (OutputStream out = new FileOutputStream(file)) {
+            art.compress(Bitmap.CompressFormat.PNG, 100, out);
+        }
+        art.recycle();
+        return file;
+    }
+
+    private static byte[] download(String url) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals(200, connection.getResponseCode());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static void assertWebp(byte[] bytes) {
+        assertTrue(bytes.length > 12);
+        assertEquals("RIFF", new String(bytes, 0, 4));
+        assertEquals("WEBP", new String(bytes, 8, 4));
+    }
+
+    private static BitmapFactory.Options decodeBounds(byte[] bytes) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        return options;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.wildercards;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Character trie from normalized aliases ("panthera tigris tigris") to canonical
+ * Wikipedia titles ("Bengal tiger").
+ *
+ * Aliases share their prefixes ("panthera leo", "panthera tigris", ...) and each node
+ * keeps its children in sorted parallel arrays instead of a map. Titles are stored
+ * once and referenced by index, since many aliases point at the same article.
+ *
+ * Pure Java on purpose: it has no Android dependencies.
+ */
+public class AliasTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> titleIndex = new HashMap<>();
+    private int size;
+
+    private static class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        int title = -1;
+    }
+
+    /**
+     * Reads "alias TAB title" lines; blank lines and lines starting with # are skipped.
+     * Aliases are expected to be normalized already (see AnimalInfoCache.normalizeKey).
+     */
+    public static AliasTrie load(Reader source) throws IOException {
+        AliasTrie trie = new AliasTrie();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int tab = line.indexOf('\t');
+            if (tab > 0) {
+                trie.put(line.substring(0, tab).trim(), line.substring(tab + 1).trim());
+            }
+        }
+        return trie;
+    }
+
+    public void put(String alias, String title) {
+        Node node = root;
+        for (int i = 0; i < alias.length(); i++) {
+            node = childOrCreate(node, alias.charAt(i));
+        }
+        if (node.title < 0) {
+            size++;
+        }
+        Integer index = titleIndex.get(title);
+        if (index == null) {
+            index = titles.size();
+            titles.add(title);
+            titleIndex.put(title, index);
+        }
+        node.title = index;
+    }
+
+    /**
+     * @return The canonical title for alias, or null if it is not in the trie
+     */
+    public String get(String alias) {
+        Node node = root;
+        for (int i = 0; i < alias.length() && node != null; i++) {
+            node = child(node, alias.charAt(i));
+        }
+        return node != null && node.title >= 0 ? titles.get(node.title) : null;
+    }
+
+    /**
+     * @return The number of aliases
+     */
+    public int size() {
+        return size;
+    }
+
+    private static Node child(Node node, char c) {
+        int i = Arrays.binarySearch(node.keys, c);
+        return i >= 0 ? node.children[i] : null;
+    }
+
+    private static Node childOrCreate(Node node, char c) {
+        int i = Arrays.binarySearch(node.keys, c);
+        if (i >= 0) {
+            return node.children[i];
+        }
+
+        int insertAt = -i - 1;
+        int length = node.keys.length;
+        char[] keys = new char[length + 1];
+        Node[] children = new Node[length + 1];
+        System.arraycopy(node.keys, 0, keys, 0, insertAt);
+        System.arraycopy(node.children, 0, children, 0, insertAt);
+        System.arraycopy(node.keys, insertAt, keys, insertAt + 1, length - insertAt);
+        System.arraycopy(node.children, insertAt, children, insertAt + 1, length - insertAt);
+
+        Node created = new Node();
+        keys[insertAt] = c;
+        children[insertAt] = created;
+        node.keys = keys;
+        node.children = children;
+        return created;
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.wildercards;
 
+import com.google.firebase.firestore.Exclude;
+
 public class AnimalCard {
     private String animalName;
     private String description;
     private String imageUrl;
+    private String thumbnailUrl; // Small WebP of the art for lists; empty on older cards
     private long timestamp;
     private String cardId;
     private String sciName;
     private String habitat;
     private String conservation;
+    private String wikidataId; // Wikidata item of the species, for refreshing the status
 
+    // Stats from Wikidata, formatted for display (e.g. "190 kg"); empty if unknown
+    private String mass;
+    private String lifespan;
+    private String length;
+    private String speed;
+    private String parentTaxon;
 
     // Empty constructor needed for Firestore
     public AnimalCard() {
@@ -91,5 +101,69 @@ public class AnimalCard {
         this.conservation = conservation;
     }
 
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    /**
+     * The thumbnail if the card has one, else the full image.
+     */
+    @Exclude
+    public String getListImageUrl() {
+        return thumbnailUrl != null && !thumbnailUrl.isEmpty() ? thumbnailUrl : imageUrl;
+    }
+
+    public String getWikidataId() {
+        return wikidataId;
+    }
+
+    public void setWikidataId(String wikidataId) {
+        this.wikidataId = wikidataId;
+    }
+
+    public String getMass() {
+        return mass;
+    }
+
+    public void setMass(String mass) {
+        this.mass = mass;
+    }
+
+    public String getLifespan() {
+        return lifespan;
+    }
+
+    public void setLifespan(String lifespan) {
+        this.lifespan = lifespan;
+    }
+
+    public String getLength() {
+        return length;
+    }
+
+    public void setLength(String length) {
+        this.length = length;
+    }
+
+    public String getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(String speed) {
+        this.speed = speed;
+    }
+
+    public String getParentTaxon() {
+        return parentTaxon;
+    }
+
+    public void setParentTaxon(String parentTaxon) {
+        this.parentTaxon = parentTaxon;
+    }
+
 
 }
\ No newline at end of file
@@ -73,10 +73,10 @@ public class AnimalCardAdapter extends RecyclerView.Adapter<AnimalCardAdapter.Ca
 
         // Load image using Glide
         if (card.getImageUrl() != null && !card.getImageUrl().isEmpty()) {
-            Log.d(TAG, "Loading image: " + card.getImageUrl());
+            Log.d(TAG, "Loading image: " + card.getListImageUrl());
 
             Glide.with(context)
-                    .load(card.getImageUrl())
+                    .load(GeneratedImageStore.modelFor(card.getListImageUrl()))
                     .placeholder(R.drawable.ic_launcher_background) // FIX: Replace with your placeholder
                     .error(R.drawable.ic_launcher_foreground) // FIX: Replace with your error image
                     .diskCacheStrategy(DiskCacheStrategy.ALL)
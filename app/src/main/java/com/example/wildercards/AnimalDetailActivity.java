@@ -4,6 +4,8 @@ import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
 import android.animation.ObjectAnimator;
 import android.app.AlertDialog;
+import android.content.Context;
+import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -41,6 +43,8 @@ public class AnimalDetailActivity extends BaseActivity {
     private TextView tvDescription;
     private TextView tvHabitat;
     private TextView tvConservationStatus;
+    private TextView tvStats;
+    private View cardStats;
     private CardView cardWikipediaImage;
     private NestedScrollView scrollView;
 
@@ -75,6 +79,27 @@ public class AnimalDetailActivity extends BaseActivity {
         startEntranceAnimations();
     }
 
+    /**
+     * Intent opening the detail screen for card, with every field it displays as an extra
+     */
+    public static Intent createIntent(Context context, AnimalCard card) {
+        Intent intent = new Intent(context, AnimalDetailActivity.class);
+        intent.putExtra("CARD_ID", card.getCardId());
+        intent.putExtra("ANIMAL_NAME", card.getAnimalName());
+        intent.putExtra("DESCRIPTION", card.getDescription());
+        intent.putExtra("IMAGE_URL", card.getImageUrl());
+        intent.putExtra("SCIENTIFIC_NAME", card.getSciName());
+        intent.putExtra("HABITAT", card.getHabitat());
+        intent.putExtra("CONSERVATION", card.getConservation());
+        intent.putExtra("TIMESTAMP", card.getTimestamp());
+        intent.putExtra("MASS", card.getMass());
+        intent.putExtra("LIFESPAN", card.getLifespan());
+        intent.putExtra("LENGTH", card.getLength());
+        intent.putExtra("SPEED", card.getSpeed());
+        intent.putExtra("PARENT_TAXON", card.getParentTaxon());
+        return intent;
+    }
+
     /**
      * Initialize all views
      */
@@ -90,6 +115,8 @@ public class AnimalDetailActivity extends BaseActivity {
         tvDescription = findViewById(R.id.tvDescription);
         tvHabitat = findViewById(R.id.tvHabitat);
         tvConservationStatus = findViewById(R.id.tvConservationStatus);
+        tvStats = findViewById(R.id.tvStats);
+        cardStats = findViewById(R.id.cardStats);
         cardWikipediaImage = findViewById(R.id.cardWikipediaImage);
         scrollView = findViewById(R.id.scrollView);
     }
@@ -101,7 +128,7 @@ public class AnimalDetailActivity extends BaseActivity {
         // Get card ID
         cardId = getIntent().getStringExtra("CARD_ID");
 
-        // Get card data (you'll need to pass this via Intent)
+        // Get card data (see createIntent)
         String animalName = getIntent().getStringExtra("ANIMAL_NAME");
         String description = getIntent().getStringExtra("DESCRIPTION");
         String imageUrl = getIntent().getStringExtra("IMAGE_URL");
@@ -120,6 +147,11 @@ public class AnimalDetailActivity extends BaseActivity {
         animalCard.setSciName(sciName);
         animalCard.setHabitat(habitat);
         animalCard.setConservation(conservation);
+        animalCard.setMass(getIntent().getStringExtra("MASS"));
+        animalCard.setLifespan(getIntent().getStringExtra("LIFESPAN"));
+        animalCard.setLength(getIntent().getStringExtra("LENGTH"));
+        animalCard.setSpeed(getIntent().getStringExtra("SPEED"));
+        animalCard.setParentTaxon(getIntent().getStringExtra("PARENT_TAXON"));
         // animalCard.setCoinsEarned(coinsEarned);
         animalCard.setTimestamp(timestamp);
 
@@ -143,7 +175,7 @@ public class AnimalDetailActivity extends BaseActivity {
         // Load generated card image
         if (animalCard.getImageUrl() != null && !animalCard.getImageUrl().isEmpty()) {
             Glide.with(this)
-                    .load(animalCard.getImageUrl())
+                    .load(GeneratedImageStore.modelFor(animalCard.getImageUrl()))
                     .diskCacheStrategy(DiskCacheStrategy.ALL)
                     .centerCrop()
                     .into(ivGeneratedCard);
@@ -179,6 +211,18 @@ public class AnimalDetailActivity extends BaseActivity {
             tvHabitat.setText("Habitat information not available.");
         }
 
+        // Set stats, one per line; the section stays hidden if there are none
+        StringBuilder stats = new StringBuilder();
+        appendStat(stats, "Mass", animalCard.getMass());
+        appendStat(stats, "Length", animalCard.getLength());
+        appendStat(stats, "Top speed", animalCard.getSpeed());
+        appendStat(stats, "Lifespan", animalCard.getLifespan());
+        appendStat(stats, "Parent taxon", animalCard.getParentTaxon());
+        if (stats.length() > 0) {
+            tvStats.setText(stats);
+            cardStats.setVisibility(View.VISIBLE);
+        }
+
         // Set conservation status with badge
         String conservation = animalCard.getConservation();
         if (conservation != null && !conservation.isEmpty()) {
@@ -195,20 +239,34 @@ public class AnimalDetailActivity extends BaseActivity {
         }
     }
 
+    private static void appendStat(StringBuilder stats, String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (stats.length() > 0) {
+            stats.append('\n');
+        }
+        stats.append(name).append(": ").append(value);
+    }
+
     /**
      * Load Wikipedia image for the animal
      */
     private void loadWikipediaImage() {
-        new Thread(() -> {
-            AnimalInfo info = WikipediaFetcher.fetchAnimalInfo(animalCard.getAnimalName());
-
-            runOnUiThread(() -> {
-                if (info != null && info.getImageUrl() != null && !info.getImageUrl().isEmpty()) {
+        // Cancelled automatically if the activity is destroyed before it completes
+        WikipediaFetcher.fetchAnimalInfoAsync(this, animalCard.getAnimalName(), new WikipediaFetcher.AnimalInfoCallback() {
+            @Override
+            public void onSuccess(AnimalInfo info) {
+                if (info.getImageUrl() != null && !info.getImageUrl().isEmpty()) {
                     // Show Wikipedia image
                     cardWikipediaImage.setVisibility(View.VISIBLE);
 
-                    Glide.with(this)
-                            .load(info.getImageUrl())
+                    // Request a thumbnail sized to the screen rather than the full image,
+                    // falling back to the stored URL if that size cannot be served
+                    int width = getResources().getDisplayMetrics().widthPixels;
+                    Glide.with(AnimalDetailActivity.this)
+                            .load(WikimediaThumbnails.forWidth(info.getImageUrl(), width))
+                            .error(Glide.with(AnimalDetailActivity.this).load(info.getImageUrl()))
                             .diskCacheStrategy(DiskCacheStrategy.ALL)
                             .centerCrop()
                             .into(ivWikipediaImage);
@@ -222,8 +280,14 @@ public class AnimalDetailActivity extends BaseActivity {
                     cardWikipediaImage.setVisibility(View.GONE);
                     Log.d(TAG, "No Wikipedia image available");
                 }
-            });
-        }).start();
+            }
+
+            @Override
+            public void onFailure(String error) {
+                cardWikipediaImage.setVisibility(View.GONE);
+                Log.d(TAG, "No Wikipedia image available: " + error);
+            }
+        });
     }
 
     /**
@@ -10,6 +10,14 @@ public class AnimalInfo {
     private String imageUrl;
     private String habitat;
     private String conservationStatus;
+    private String wikidataId = ""; // e.g. "Q19939"; "" if the page has no Wikidata item
+
+    // Extra stats from the same Wikidata entity, formatted for display ("" if absent)
+    private String mass = "";
+    private String lifespan = "";
+    private String length = "";
+    private String speed = "";
+    private String parentTaxon = "";
 
     public AnimalInfo() {} // Needed for Firebase
 
@@ -30,6 +38,12 @@ public class AnimalInfo {
     public String getImageUrl() { return imageUrl; }
     public String getHabitat() { return habitat; }
     public String getConservationStatus() { return conservationStatus; }
+    public String getWikidataId() { return wikidataId; }
+    public String getMass() { return mass; }
+    public String getLifespan() { return lifespan; }
+    public String getLength() { return length; }
+    public String getSpeed() { return speed; }
+    public String getParentTaxon() { return parentTaxon; }
 
     public void setName(String name) { this.name = name; }
     public void setScientificName(String scientificName) { this.scientificName = scientificName; }
@@ -37,6 +51,13 @@ public class AnimalInfo {
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
     public void setHabitat(String habitat) { this.habitat = habitat; }
     public void setConservationStatus(String conservationStatus) { this.conservationStatus = conservationStatus; }
+    public void setWikidataId(String wikidataId) { this.wikidataId = wikidataId; }
+    public void setMass(String mass) { this.mass = mass; }
+    public void setLifespan(String lifespan) { this.lifespan = lifespan; }
+    public void setLength(String length) { this.length = length; }
+    public void setSpeed(String speed) { this.speed = speed; }
+    public void setParentTaxon(String parentTaxon) { this.parentTaxon = parentTaxon; }
+
 
 
     /**
@@ -0,0 +1,327 @@
+package com.example.wildercards;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
+
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Locale;
+
+/**
+ * Two-tier cache for AnimalInfo results: a small in-memory LRU in front of
+ * one JSON file per species in the app's cache directory.
+ *
+ * Entries younger than FRESH_TTL are served as-is. Older entries are still
+ * served (stale-while-revalidate) and the caller is expected to refresh them
+ * in the background. Entries older than MAX_STALE are treated as a miss.
+ *
+ * Each entry also keeps the HTTP validators of the responses it was built from,
+ * so expired entries can be revalidated with conditional requests.
+ */
+public class AnimalInfoCache {
+    private static final String TAG = "AnimalInfoCache";
+    private static final String DIR_NAME = "animal_info";
+    private static final int MEMORY_ENTRIES = 64;
+
+    static final long FRESH_TTL = 7L * 24 * 60 * 60 * 1000;  // 7 days
+    static final long MAX_STALE = 90L * 24 * 60 * 60 * 1000; // 90 days
+
+    private static final LruCache<String, Entry> memoryCache = new LruCache<>(MEMORY_ENTRIES);
+    private static File cacheDir;
+
+    /**
+     * HTTP validators for the Wikipedia summary and the Wikidata entity.
+     * Any field may be null if the server did not send it.
+     */
+    public static class Validators {
+        public final String summaryEtag;
+        public final String summaryLastModified;
+        public final String wikidataId;
+        public final String entityLastModified;
+
+        public Validators(String summaryEtag, String summaryLastModified,
+                          String wikidataId, String entityLastModified) {
+            this.summaryEtag = summaryEtag;
+            this.summaryLastModified = summaryLastModified;
+            this.wikidataId = wikidataId;
+            this.entityLastModified = entityLastModified;
+        }
+
+        public boolean canRevalidateSummary() {
+            return summaryEtag != null || summaryLastModified != null;
+        }
+    }
+
+    /**
+     * A cached AnimalInfo together with the time it was fetched.
+     */
+    public static class Entry {
+        public final AnimalInfo info;
+        public final long fetchedAt;
+        public final Validators validators;
+
+        Entry(AnimalInfo info, long fetchedAt, Validators validators) {
+            this.info = info;
+            this.fetchedAt = fetchedAt;
+            this.validators = validators;
+        }
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() - fetchedAt < FRESH_TTL;
+        }
+
+        public boolean isExpired() {
+            return System.currentTimeMillis() - fetchedAt >= MAX_STALE;
+        }
+    }
+
+    /**
+     * Enables the disk tier. Until this is called only the memory tier is used.
+     */
+    public static synchronized void init(Context context) {
+        if (cacheDir != null) {
+            return;
+        }
+        File dir = new File(context.getApplicationContext().getCacheDir(), DIR_NAME);
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "Could not create cache directory: " + dir);
+            return;
+        }
+        File[] leftovers = dir.listFiles((d, name) -> name.endsWith(".tmp"));
+        if (leftovers != null) {
+            for (File file : leftovers) {
+                file.delete(); // From a write interrupted by the process dying
+            }
+        }
+        cacheDir = dir;
+        Log.d(TAG, "Disk cache at " + dir.getAbsolutePath());
+    }
+
+    /**
+     * Normalizes an animal name into a cache key ("  Bengal  Tiger " -> "bengal tiger").
+     */
+    public static String normalizeKey(String animalName) {
+        if (animalName == null) {
+            return "";
+        }
+        return animalName.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Looks the key up in memory first, then on disk.
+     * @return the cached entry, or null on a miss
+     */
+    public static Entry get(String key) {
+        Entry entry = memoryCache.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        entry = readFromDisk(key);
+        if (entry != null) {
+            memoryCache.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a freshly fetched result in both tiers.
+     * @param complete false if the fetch only returned partial data; such entries
+     *                 are stored as already stale so the next read refreshes them
+     * @param validators HTTP validators of the responses, or null
+     */
+    public static void put(String key, AnimalInfo info, boolean complete, Validators validators) {
+        if (info == null) {
+            return;
+        }
+        long fetchedAt = complete ? System.currentTimeMillis()
+                : System.currentTimeMillis() - FRESH_TTL;
+        Entry entry = new Entry(info, fetchedAt, validators);
+        memoryCache.put(key, entry);
+        writeToDisk(key, entry);
+    }
+
+    /**
+     * Marks an entry as fresh again after a successful revalidation (HTTP 304).
+     */
+    public static void touch(String key, Entry entry) {
+        put(key, entry.info, true, entry.validators);
+    }
+
+    /**
+     * Drops every entry from both tiers.
+     */
+    public static synchronized void clear() {
+        memoryCache.evictAll();
+        if (cacheDir == null) {
+            return;
+        }
+        File[] files = cacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    private static Entry readFromDisk(String key) {
+        File file = fileFor(key);
+        if (file == null || !file.exists()) {
+            return null;
+        }
+
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[(int) file.length()];
+            int read = 0;
+            while (read < buffer.length) {
+                int n = in.read(buffer, read, buffer.length - read);
+                if (n < 0) break;
+                read += n;
+            }
+            JSONObject json = new JSONObject(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            JSONObject info = json.getJSONObject("info");
+            if (!info.has("stats")) {
+                // Written before card stats were extracted. A conditional request would
+                // only confirm the old data, so serve it as stale and without validators:
+                // the background refresh then fetches the entity again in full.
+                return new Entry(fromJson(info),
+                        Math.min(json.getLong("fetchedAt"), System.currentTimeMillis() - FRESH_TTL), null);
+            }
+            return new Entry(fromJson(info), json.getLong("fetchedAt"),
+                    validatorsFromJson(json.optJSONObject("validators")));
+        } catch (Exception e) {
+            Log.w(TAG, "Dropping unreadable cache file " + file.getName() + ": " + e.getMessage());
+            file.delete();
+            return null;
+        }
+    }
+
+    private static void writeToDisk(String key, Entry entry) {
+        File file = fileFor(key);
+        if (file == null) {
+            return;
+        }
+
+        // Write to a temp file and rename so readers never see a half-written entry. The
+        // temp name is unique, so concurrent writers of one key (a fetch and a background
+        // refresh) each rename a complete file into place.
+        File tmp = null;
+        try {
+            tmp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            JSONObject json = new JSONObject();
+            json.put("key", key);
+            json.put("fetchedAt", entry.fetchedAt);
+            json.put("info", toJson(entry.info));
+            if (entry.validators != null) {
+                json.put("validators", validatorsToJson(entry.validators));
+            }
+
+            try (OutputStream out = new FileOutputStream(tmp)) {
+                out.write(json.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            if (!tmp.renameTo(file)) {
+                Log.w(TAG, "Could not commit cache file for " + key);
+                tmp.delete();
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Error writing cache entry for " + key + ": " + e.getMessage());
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    private static File fileFor(String key) {
+        File dir = cacheDir;
+        if (dir == null) {
+            return null;
+        }
+        return new File(dir, sha1(key) + ".json");
+    }
+
+    private static JSONObject toJson(AnimalInfo info) throws Exception {
+        JSONObject json = new JSONObject();
+        json.put("name", info.getName());
+        json.put("scientificName", info.getScientificName());
+        json.put("description", info.getDescription());
+        json.put("imageUrl", info.getImageUrl());
+        json.put("habitat", info.getHabitat());
+        json.put("conservationStatus", info.getConservationStatus());
+        json.put("wikidataId", info.getWikidataId());
+
+        JSONObject stats = new JSONObject();
+        stats.put("mass", info.getMass());
+        stats.put("lifespan", info.getLifespan());
+        stats.put("length", info.getLength());
+        stats.put("speed", info.getSpeed());
+        stats.put("parentTaxon", info.getParentTaxon());
+        json.put("stats", stats);
+        return json;
+    }
+
+    private static AnimalInfo fromJson(JSONObject json) {
+        AnimalInfo info = new AnimalInfo(
+                json.optString("name", ""),
+                json.optString("scientificName", ""),
+                json.optString("description", ""),
+                json.optString("imageUrl", ""),
+                json.optString("habitat", ""),
+                json.optString("conservationStatus", "")
+        );
+        info.setWikidataId(json.optString("wikidataId", ""));
+
+        JSONObject stats = json.optJSONObject("stats");
+        if (stats != null) {
+            info.setMass(stats.optString("mass", ""));
+            info.setLifespan(stats.optString("lifespan", ""));
+            info.setLength(stats.optString("length", ""));
+            info.setSpeed(stats.optString("speed", ""));
+            info.setParentTaxon(stats.optString("parentTaxon", ""));
+        }
+        return info;
+    }
+
+    private static JSONObject validatorsToJson(Validators validators) throws Exception {
+        JSONObject json = new JSONObject();
+        json.putOpt("summaryEtag", validators.summaryEtag);
+        json.putOpt("summaryLastModified", validators.summaryLastModified);
+        json.putOpt("wikidataId", validators.wikidataId);
+        json.putOpt("entityLastModified", validators.entityLastModified);
+        return json;
+    }
+
+    private static Validators validatorsFromJson(JSONObject json) {
+        if (json == null) {
+            return null;
+        }
+        return new Validators(
+                json.optString("summaryEtag", null),
+                json.optString("summaryLastModified", null),
+                json.optString("wikidataId", null),
+                json.optString("entityLastModified", null)
+        );
+    }
+
+    private static String sha1(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format(Locale.ROOT, "%02x", b));
+            }
+            return hex.toString();
+        } catch (Exception e) {
+            // SHA-1 is always available on Android; fall back to a sanitized key anyway
+            return value.replaceAll("[^a-z0-9]", "_");
+        }
+    }
+}
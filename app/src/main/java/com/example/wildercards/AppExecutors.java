@@ -0,0 +1,47 @@
+package com.example.wildercards;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared executors for background work, replacing ad-hoc new Thread(...) calls.
+ */
+public class AppExecutors {
+    private static final int IO_THREADS = 4;
+
+    private static final ThreadPoolExecutor io = createIoExecutor();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final Executor mainThread = mainHandler::post;
+
+    /**
+     * Bounded pool for network and disk I/O. Idle threads time out, so the pool
+     * costs nothing while the app is not fetching.
+     */
+    public static Executor io() {
+        return io;
+    }
+
+    public static Executor mainThread() {
+        return mainThread;
+    }
+
+    private static ThreadPoolExecutor createIoExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                IO_THREADS, IO_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "wildercards-io-" + count.incrementAndGet());
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
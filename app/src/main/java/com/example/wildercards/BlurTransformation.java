@@ -0,0 +1,62 @@
+package com.example.wildercards;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.resource.bitmap.BitmapTransformation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Glide transformation that blurs an image by shrinking it to a few pixels and drawing
+ * it back at full size with bilinear filtering. Works on every API level (RenderEffect
+ * needs 31) and is soft enough for a preview standing in for the real image.
+ */
+public class BlurTransformation extends BitmapTransformation {
+    private static final String ID = "com.example.wildercards.BlurTransformation";
+    private static final byte[] ID_BYTES = ID.getBytes(StandardCharsets.UTF_8);
+
+    // Pixels on the longer side of the shrunken copy; smaller is blurrier
+    private static final int SAMPLE_SIZE = 16;
+
+    @Override
+    protected Bitmap transform(@NonNull BitmapPool pool, @NonNull Bitmap toTransform, int outWidth, int outHeight) {
+        int width = outWidth > 0 ? outWidth : toTransform.getWidth();
+        int height = outHeight > 0 ? outHeight : toTransform.getHeight();
+
+        float scale = (float) SAMPLE_SIZE / Math.max(toTransform.getWidth(), toTransform.getHeight());
+        Bitmap small = Bitmap.createScaledBitmap(toTransform,
+                Math.max(1, Math.round(toTransform.getWidth() * scale)),
+                Math.max(1, Math.round(toTransform.getHeight() * scale)), true);
+
+        Bitmap result = pool.get(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(result);
+        canvas.drawBitmap(small, null, new Rect(0, 0, width, height), new Paint(Paint.FILTER_BITMAP_FLAG));
+        canvas.setBitmap(null);
+        if (small != toTransform) {
+            small.recycle();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BlurTransformation;
+    }
+
+    @Override
+    public int hashCode() {
+        return ID.hashCode();
+    }
+
+    @Override
+    public void updateDiskCacheKey(@NonNull MessageDigest messageDigest) {
+        messageDigest.update(ID_BYTES);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.wildercards;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import retrofit2.Call;
+
+/**
+ * Tracks the Retrofit calls made on behalf of one logical fetch so they can be
+ * cancelled together. Cancelling aborts in-flight calls, which closes their sockets
+ * and unblocks the worker thread, and makes any later call fail immediately.
+ *
+ * A group is bound to the current thread with {@link #run}; WikiApi.execute()
+ * registers each call with the group bound to the calling thread.
+ */
+public class CallGroup {
+    private static final ThreadLocal<CallGroup> current = new ThreadLocal<>();
+
+    private final List<Call<?>> calls = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * @return The group bound to the calling thread, or null
+     */
+    public static CallGroup current() {
+        return current.get();
+    }
+
+    /**
+     * Runs work with group bound to the calling thread. A null group runs work unbound.
+     */
+    public static <T> T runWithin(CallGroup group, Callable<T> work) throws Exception {
+        CallGroup previous = current.get();
+        current.set(group);
+        try {
+            return work.call();
+        } finally {
+            current.set(previous);
+        }
+    }
+
+    public <T> T run(Callable<T> work) throws Exception {
+        return runWithin(this, work);
+    }
+
+    /**
+     * Adds a call to the group, cancelling it right away if the group is already cancelled.
+     */
+    public void register(Call<?> call) throws IOException {
+        synchronized (this) {
+            if (!cancelled) {
+                calls.add(call);
+                return;
+            }
+        }
+        call.cancel();
+        throw new IOException("Canceled");
+    }
+
+    public void cancel() {
+        List<Call<?>> toCancel;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toCancel = new ArrayList<>(calls);
+            calls.clear();
+        }
+        for (Call<?> call : toCancel) {
+            call.cancel();
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.wildercards;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Build;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Uploads generated card art to Firebase Storage, so saved cards point at a stored
+ * image instead of the Pollinations prompt URL (which regenerates on a cold cache and
+ * can take 10-30 s per view).
+ *
+ * The generated image file is decoded at its original size and encoded once as WebP,
+ * at full size and as a thumbnail for lists, and stored under
+ * card_art/&lt;uid&gt;/&lt;sha256&gt;.webp and &lt;sha256&gt;_thumb.webp. The names are
+ * content hashes, so the objects never change and are served with an immutable
+ * Cache-Control; saving the same art twice stores it once.
+ */
+public class CardArtUploader {
+    private static final String TAG = "CardArtUploader";
+
+    static final int THUMBNAIL_SIZE = 192;
+    private static final int FULL_QUALITY = 85;
+    private static final int THUMBNAIL_QUALITY = 75;
+    private static final String CONTENT_TYPE = "image/webp";
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    public interface UploadCallback {
+        void onSuccess(String imageUrl, String thumbnailUrl);
+        void onFailure(String error);
+    }
+
+    /**
+     * Encodes the image in art (as stored by GeneratedImageStore) and uploads both sizes
+     * for userId. The callback runs on the main thread, exactly once, also if userId is
+     * null or decoding or encoding fails.
+     */
+    public static void upload(String userId, File art, UploadCallback callback) {
+        if (userId == null) {
+            Log.e(TAG, "Cannot upload art - user not authenticated");
+            fail(callback, "USER_NOT_AUTHENTICATED");
+            return;
+        }
+        AppExecutors.io().execute(() -> {
+            try {
+                // Decoded here rather than taken from the ImageView: Glide's bitmap is
+                // cropped to the view and pooled, so it may be reused mid-encode
+                Bitmap bitmap = BitmapFactory.decodeFile(art.getPath());
+                if (bitmap == null) {
+                    throw new IOException("Could not decode " + art);
+                }
+                try {
+                    uploadEncoded(userId, bitmap, callback);
+                } finally {
+                    bitmap.recycle();
+                }
+            } catch (Exception | OutOfMemoryError e) {
+                Log.e(TAG, "Could not encode art", e);
+                fail(callback, e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+        });
+    }
+
+    private static void uploadEncoded(String userId, Bitmap art, UploadCallback callback) throws IOException {
+        byte[] full = encodeWebp(art, art.getWidth(), FULL_QUALITY);
+        byte[] thumbnail = encodeWebp(art, THUMBNAIL_SIZE, THUMBNAIL_QUALITY);
+        String name = sha256(full);
+        Log.d(TAG, "Encoded art " + name + ": " + full.length + " bytes full, "
+                + thumbnail.length + " bytes thumbnail");
+
+        StorageReference dir = FirebaseStorage.getInstance().getReference()
+                .child("card_art").child(userId);
+        StorageReference fullRef = dir.child(name + ".webp");
+        StorageReference thumbnailRef = dir.child(name + "_thumb.webp");
+
+        Task<Uri> fullUrl = put(fullRef, full);
+        Task<Uri> thumbnailUrl = put(thumbnailRef, thumbnail);
+        Tasks.whenAll(fullUrl, thumbnailUrl)
+                .addOnSuccessListener(unused -> {
+                    Log.d(TAG, "Art uploaded to " + fullRef.getPath());
+                    String imageUrl = fullUrl.getResult().toString();
+                    String smallUrl = thumbnailUrl.getResult().toString();
+                    // Keep the bytes under their new URLs, so the saved card shows
+                    // without downloading its own art back. Storing is best-effort.
+                    AppExecutors.io().execute(() -> {
+                        try {
+                            GeneratedImageStore.put(GeneratedImageStore.urlKey(imageUrl), full);
+                            GeneratedImageStore.put(GeneratedImageStore.urlKey(smallUrl), thumbnail);
+                        } catch (RuntimeException e) {
+                            Log.w(TAG, "Could not store uploaded art: " + e.getMessage());
+                        }
+                        AppExecutors.mainThread().execute(() -> callback.onSuccess(imageUrl, smallUrl));
+                    });
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Art upload failed", e);
+                    callback.onFailure(e.getMessage());
+                });
+    }
+
+    private static void fail(UploadCallback callback, String error) {
+        AppExecutors.mainThread().execute(() -> callback.onFailure(error));
+    }
+
+    /**
+     * Scales art down to size on its longer side (never up) and encodes it as lossy WebP.
+     * @throws IOException if the bitmap could not be encoded (e.g. it was recycled)
+     */
+    static byte[] encodeWebp(Bitmap art, int size, int quality) throws IOException {
+        Bitmap scaled = art;
+        int longest = Math.max(art.getWidth(), art.getHeight());
+        if (longest > size) {
+            float scale = (float) size / longest;
+            scaled = Bitmap.createScaledBitmap(art, Math.max(1, Math.round(art.getWidth() * scale)),
+                    Math.max(1, Math.round(art.getHeight() * scale)), true);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean encoded = scaled.compress(webpFormat(), quality, out);
+        if (scaled != art) {
+            scaled.recycle();
+        }
+        if (!encoded || out.size() == 0) {
+            throw new IOException("WebP encoding failed");
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat webpFormat() {
+        // Before API 30, WEBP is lossy for quality < 100
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                ? Bitmap.CompressFormat.WEBP_LOSSY
+                : Bitmap.CompressFormat.WEBP;
+    }
+
+    private static Task<Uri> put(StorageReference ref, byte[] bytes) {
+        StorageMetadata metadata = new StorageMetadata.Builder()
+                .setContentType(CONTENT_TYPE)
+                .setCacheControl(CACHE_CONTROL)
+                .build();
+        return ref.putBytes(bytes, metadata)
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        throw task.getException();
+                    }
+                    return ref.getDownloadUrl();
+                });
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
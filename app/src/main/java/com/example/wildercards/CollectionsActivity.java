@@ -207,11 +207,7 @@ public class CollectionsActivity extends BaseActivity {
      * Open the detail screen for the selected animal card
      */
     private void openAnimalDetailActivity(AnimalCard card) {
-        Intent intent = new Intent(this, AnimalDetailActivity.class);
-        intent.putExtra("animal_id", card.getCardId()); // or use your correct field
-        intent.putExtra("animal_name", card.getAnimalName());
-        intent.putExtra("animal_image", card.getImageUrl()); // optional if you have one
-        startActivity(intent);
+        startActivity(AnimalDetailActivity.createIntent(this, card));
     }
 
 }
\ No newline at end of file
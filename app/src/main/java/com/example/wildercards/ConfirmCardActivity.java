@@ -16,6 +16,7 @@ import android.view.View;
 import android.view.animation.AccelerateDecelerateInterpolator;
 import android.widget.Button;
 import android.widget.ImageView;
+import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -24,6 +25,11 @@ import androidx.cardview.widget.CardView;
 
 import com.bumptech.glide.Glide;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class ConfirmCardActivity extends BaseActivity {
     private ImageView ivResult;
     private ProgressBar progressBar;
@@ -42,6 +48,19 @@ public class ConfirmCardActivity extends BaseActivity {
 
     private String currentAnimalName;
 
+    // Last successful lookup, for the stats saved with the card
+    private AnimalInfo currentInfo;
+
+    // Small previews of the current round, one per cell of the variant row
+    private LinearLayout variantRow;
+    private final List<ImageView> variantViews = new ArrayList<>();
+    private List<GenerationSession> variants = Collections.emptyList();
+    private boolean waitingForFirstVariant;
+    // Full-size generation of the picked variant; results of earlier picks are ignored
+    private GenerationSession currentGeneration;
+    // The generation whose art is on screen; its stored file is uploaded when the card is saved
+    private GenerationSession displayedGeneration;
+
     private FirebaseHelper firebaseHelper;
 
     private int loadingTasks = 0;
@@ -61,6 +80,8 @@ public class ConfirmCardActivity extends BaseActivity {
         conservationTextView = findViewById(R.id.conservationTextView);
         animalImageView = findViewById(R.id.animalViewWiki);
         btnSave = findViewById(R.id.btn_save);
+        variantRow = findViewById(R.id.variantRow);
+        createVariantViews();
 
         if (tvAnimalName == null) Log.e(TAG, "tvAnimalName is null!");
         if (scientificNameTextView == null) Log.e(TAG, "scientificNameTextView is null!");
@@ -96,6 +117,21 @@ public class ConfirmCardActivity extends BaseActivity {
         });
     }
 
+    private void createVariantViews() {
+        int margin = Math.round(4 * getResources().getDisplayMetrics().density);
+        for (int i = 0; i < ImageGenerator.VARIANT_COUNT; i++) {
+            ImageView cell = new ImageView(this);
+            LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.MATCH_PARENT, 1f);
+            params.setMargins(margin, 0, margin, 0);
+            cell.setLayoutParams(params);
+            cell.setScaleType(ImageView.ScaleType.CENTER_CROP);
+            cell.setBackgroundColor(0xFF2A3A3A);
+            cell.setContentDescription("Variant " + (i + 1));
+            variantRow.addView(cell);
+            variantViews.add(cell);
+        }
+    }
+
     private void startAllLoadingTasks(){
         generateImage();
         fetchWikipediaData();
@@ -122,35 +158,41 @@ public class ConfirmCardActivity extends BaseActivity {
 
     private void fetchWikipediaData() {
         startLoading();
-        new Thread(() -> {
-            AnimalInfo info = WikipediaFetcher.fetchAnimalInfo(currentAnimalName);
-
-            runOnUiThread(() -> {
-                if (info != null) {
-                    if (tvAnimalName != null) tvAnimalName.setText(info.getName());
-                    if (scientificNameTextView != null)
-                        scientificNameTextView.setText(info.getScientificName());
-                    if (tvDescription != null) tvDescription.setText(info.getDescription());
-                    if (habitatTextView != null) habitatTextView.setText(info.getHabitat());
-                    if (conservationTextView != null && info.getConservationStatus() != null) {
-                        conservationTextView.setText("Status: " + info.getConservationStatus());
-                    }
-                    if (animalImageView != null && info.getImageUrl() != null && !info.getImageUrl().isEmpty()) {
-                        Glide.with(ConfirmCardActivity.this)
-                                .load(info.getImageUrl())
-                                .into(animalImageView);
-                    }
-
-                    currentAnimalName = info.getName();
-                    currentDescription = info.getDescription();
+        // Cancelled automatically if the activity is destroyed before it completes
+        WikipediaFetcher.fetchAnimalInfoAsync(this, currentAnimalName, new WikipediaFetcher.AnimalInfoCallback() {
+            @Override
+            public void onSuccess(AnimalInfo info) {
+                if (tvAnimalName != null) tvAnimalName.setText(info.getName());
+                if (scientificNameTextView != null)
+                    scientificNameTextView.setText(info.getScientificName());
+                if (tvDescription != null) tvDescription.setText(info.getDescription());
+                if (habitatTextView != null) habitatTextView.setText(info.getHabitat());
+                if (conservationTextView != null && info.getConservationStatus() != null) {
+                    conservationTextView.setText("Status: " + info.getConservationStatus());
+                }
+                if (animalImageView != null && info.getImageUrl() != null && !info.getImageUrl().isEmpty()) {
+                    // Request a thumbnail sized to the screen rather than the full image,
+                    // falling back to the stored URL if that size cannot be served
+                    int width = getResources().getDisplayMetrics().widthPixels;
+                    Glide.with(ConfirmCardActivity.this)
+                            .load(WikimediaThumbnails.forWidth(info.getImageUrl(), width))
+                            .error(Glide.with(ConfirmCardActivity.this).load(info.getImageUrl()))
+                            .into(animalImageView);
+                }
 
+                currentAnimalName = info.getName();
+                currentDescription = info.getDescription();
+                currentInfo = info;
+                stopLoading();
+            }
 
-                } else {
-                    Toast.makeText(ConfirmCardActivity.this, "Failed to fetch animal info", Toast.LENGTH_SHORT).show();
-                }
+            @Override
+            public void onFailure(String error) {
+                Log.e(TAG, "Wikipedia fetch failed: " + error);
+                Toast.makeText(ConfirmCardActivity.this, "Failed to fetch animal info", Toast.LENGTH_SHORT).show();
                 stopLoading();
-            });
-        }).start();
+            }
+        });
     }
 
     private void checkUserAuthentication() {
@@ -160,23 +202,121 @@ public class ConfirmCardActivity extends BaseActivity {
             // For now, we'll just check on save
         }
     }
+    /**
+     * Generates a round of small variants in parallel; each shows in the variant row as
+     * it arrives. Nothing is generated at full size until the user picks one.
+     */
     private void generateImage() {
+        // Results of a previous round are no longer wanted
+        cancelGenerations();
+        if (waitingForFirstVariant) {
+            stopLoading(); // That round's loading task never completed
+        }
+        waitingForFirstVariant = true;
+        displayedGeneration = null;
+        Glide.with(this).clear(ivResult);
+        btnSave.setEnabled(false);
+        for (ImageView cell : variantViews) {
+            cell.setImageDrawable(null);
+            cell.setAlpha(1f);
+            cell.setOnClickListener(null);
+        }
+
         startLoading();
         tvStatus.setText("Generating " + currentAnimalName + " in Pokémon style...");
-        ImageGenerator.generateAnimalImage(this, currentAnimalName, new ImageGenerator.ImageGenerationCallback() {
-            @Override
-            public void onImageGenerated(String imageUrl, Drawable resource) {
-                ivResult.setImageDrawable(resource);
-                tvStatus.setText("Generated successfully!");
-                stopLoading();
-            }
+        variants = ImageGenerator.generateVariants(this, currentAnimalName, ImageGenerator.VARIANT_COUNT,
+                new ImageGenerator.ImageGenerationCallback() {
+                    @Override
+                    public void onImageGenerated(GenerationSession session, Drawable resource) {
+                        int index = variants.indexOf(session);
+                        if (index < 0) {
+                            return; // From an earlier round
+                        }
+                        ImageView cell = variantViews.get(index);
+                        cell.setImageDrawable(resource);
+                        cell.setOnClickListener(v -> pickVariant(index));
+                        if (waitingForFirstVariant) {
+                            waitingForFirstVariant = false;
+                            stopLoading();
+                            Toast.makeText(ConfirmCardActivity.this, "Tap a picture to pick it", Toast.LENGTH_SHORT).show();
+                        }
+                    }
 
-            @Override
-            public void onImageGenerationFailed() {
-                tvStatus.setText("Failed to generate. Tap to retry.");
-                stopLoading();
+                    @Override
+                    public void onImageGenerationFailed(GenerationSession session) {
+                        int index = variants.indexOf(session);
+                        if (index < 0) {
+                            return;
+                        }
+                        variantViews.get(index).setAlpha(0.3f);
+                        for (GenerationSession variant : variants) {
+                            if (!variant.isFailed()) {
+                                return; // Still loading, or shown
+                            }
+                        }
+                        // Every variant failed
+                        if (waitingForFirstVariant) {
+                            waitingForFirstVariant = false;
+                            stopLoading();
+                        }
+                        Toast.makeText(ConfirmCardActivity.this, "Could not generate " + currentAnimalName + ". Try again.", Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
+    /**
+     * Generates the picked variant's seed at full size. The variant stands in, blurred,
+     * until the full image fades in; that image is what gets saved.
+     */
+    private void pickVariant(int index) {
+        for (int i = 0; i < variantViews.size(); i++) {
+            if (!variants.get(i).isFailed()) {
+                variantViews.get(i).setAlpha(i == index ? 1f : 0.5f);
             }
-        });
+        }
+        displayedGeneration = null;
+        btnSave.setEnabled(false);
+
+        if (currentGeneration != null) {
+            currentGeneration.cancel();
+        }
+        GenerationSession variant = variants.get(index);
+        currentGeneration = ImageGenerator.generateProgressive(this, variant.getAnimalName(), variant.getSeed(),
+                ivResult, new ImageGenerator.ImageGenerationCallback() {
+                    @Override
+                    public void onImageGenerated(GenerationSession session, Drawable resource) {
+                        if (session != currentGeneration) {
+                            Log.d(TAG, "Ignoring superseded generation " + session);
+                            return;
+                        }
+                        // Glide puts it on screen itself, with the cross-fade. resource is
+                        // only for display; the upload reads the session's file.
+                        displayedGeneration = session;
+                        btnSave.setEnabled(true);
+                    }
+
+                    @Override
+                    public void onImageGenerationFailed(GenerationSession session) {
+                        // ImageGenerator has told the user; tapping the variant again retries
+                        Log.w(TAG, "Full-size generation failed for " + session);
+                    }
+                });
+    }
+
+    private void cancelGenerations() {
+        for (GenerationSession variant : variants) {
+            variant.cancel();
+        }
+        if (currentGeneration != null) {
+            currentGeneration.cancel();
+            currentGeneration = null;
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        cancelGenerations();
+        super.onDestroy();
     }
 
     // Set up the retry button
@@ -207,18 +347,57 @@ public class ConfirmCardActivity extends BaseActivity {
             return;
         }
 
-        // Get the image URL from ImageGenerator
-        String imageUrl = ImageGenerator.getLastGeneratedImageUrl();
-
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            Toast.makeText(this, "Please generate an image first!", Toast.LENGTH_SHORT).show();
+        // Save the art on screen, whichever generation produced it
+        GenerationSession generation = displayedGeneration;
+        if (generation == null) {
+            Toast.makeText(this, "Pick a picture first!", Toast.LENGTH_SHORT).show();
             return;
         }
+        String imageUrl = generation.getUrl();
 
         // Disable button while saving
         btnSave.setEnabled(false);
         btnSave.setText("Saving...");
 
+        // Store the art itself so the card never goes back to the generator
+        CardArtUploader.upload(firebaseHelper.getCurrentUserId(), generation.getFile(), new CardArtUploader.UploadCallback() {
+            @Override
+            public void onSuccess(String storedImageUrl, String thumbnailUrl) {
+                saveCard(storedImageUrl, thumbnailUrl);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                // Still save the card, pointing at the generator as before, and keep the
+                // art under that URL so the collection does not regenerate it
+                Log.w(TAG, "Art upload failed, saving the generator URL: " + error);
+                keepArtForUrl(generation);
+                saveCard(imageUrl, null);
+            }
+        });
+    }
+
+    /**
+     * Copies the generated bytes to the store under the generator URL, where the
+     * collection screens look for a card saved with that URL.
+     */
+    private static void keepArtForUrl(GenerationSession generation) {
+        AppExecutors.io().execute(() -> {
+            try {
+                byte[] bytes = generation.readBytes();
+                if (bytes != null) {
+                    GeneratedImageStore.put(GeneratedImageStore.urlKey(generation.getUrl()), bytes);
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Could not keep art for " + generation.getUrl() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Saves the card with the given art; thumbnailUrl is null if the art was not uploaded.
+     */
+    private void saveCard(String imageUrl, String thumbnailUrl) {
         // Get current values
         String animalName = tvAnimalName.getText().toString();
         String description = tvDescription.getText().toString();
@@ -237,9 +416,11 @@ public class ConfirmCardActivity extends BaseActivity {
                 animalName,
                 description,
                 imageUrl,
+                thumbnailUrl,
                 scientificNameTextView.getText().toString(),
                 habitatTextView.getText().toString(),
                 conservationStatus,
+                currentInfo,
                 new FirebaseHelper.SaveCallback() {
                     @Override
                     public void onSuccess(String cardId, int coinsEarnd) {
@@ -0,0 +1,244 @@
+package com.example.wildercards;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that keeps the conservation status on the user's cards current.
+ * A card's status is frozen when it is saved, but IUCN assessments change.
+ *
+ * Instead of a full lookup per card, the Wikidata items of all cards are fetched in
+ * batches of 50 (WikipediaFetcher.fetchConservationStatuses), and only the cards whose
+ * status changed are rewritten, in one batched Firestore write. A 500-card collection
+ * takes about 10 requests. Cards saved without a Wikidata item (older cards, or ones
+ * created from the offline species index) get it looked up by name, up to
+ * MAX_BACKFILL_NAMES names per run, and stored on the card.
+ */
+public class ConservationRefreshJobService extends JobService {
+    private static final String TAG = "ConservationRefreshJob";
+    private static final int JOB_ID = 1002;
+    private static final long PERIOD = TimeUnit.DAYS.toMillis(7);
+    private static final int MAX_BACKFILL_NAMES = 20; // Full lookups per run; the rest wait a week
+
+    private volatile CallGroup group;
+
+    /**
+     * Schedules the weekly refresh job unless it is already scheduled.
+     */
+    public static void schedule(Context context) {
+        JobScheduler scheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (scheduler == null || scheduler.getPendingJob(JOB_ID) != null) {
+            return;
+        }
+
+        JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, ConservationRefreshJobService.class))
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setRequiresBatteryNotLow(true)
+                .setPeriodic(PERIOD)
+                .build();
+        int result = scheduler.schedule(job);
+        Log.d(TAG, "Conservation refresh job scheduled: " + (result == JobScheduler.RESULT_SUCCESS));
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        Log.d(TAG, "Conservation refresh job started");
+
+        FirebaseHelper firebaseHelper = new FirebaseHelper();
+        if (!firebaseHelper.isUserAuthenticated()) {
+            Log.d(TAG, "No user signed in, nothing to refresh");
+            return false;
+        }
+
+        firebaseHelper.fetchUserAnimalCards(new FirebaseHelper.FetchCallback() {
+            @Override
+            public void onSuccess(List<AnimalCard> cards) {
+                refresh(params, firebaseHelper, cards);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                Log.w(TAG, "Could not load collection: " + error);
+                jobFinished(params, true);
+            }
+        });
+        return true; // Work continues asynchronously
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        // Constraints no longer met: abort and retry later
+        Log.d(TAG, "Conservation refresh job stopped");
+        CallGroup current = group;
+        if (current != null) {
+            current.cancel();
+        }
+        return true;
+    }
+
+    private void refresh(JobParameters params, FirebaseHelper firebaseHelper, List<AnimalCard> cards) {
+        CallGroup callGroup = new CallGroup();
+        group = callGroup;
+
+        AppExecutors.io().execute(() -> {
+            Map<String, String> backfilled = new LinkedHashMap<>();
+            Set<String> wikidataIds = new LinkedHashSet<>();
+            Map<String, String> statuses;
+            try {
+                statuses = callGroup.run(() -> {
+                    backfilled.putAll(backfillWikidataIds(cards, callGroup));
+                    for (AnimalCard card : cards) {
+                        if (card.getWikidataId() != null && !card.getWikidataId().isEmpty()) {
+                            wikidataIds.add(card.getWikidataId());
+                        }
+                    }
+                    Log.d(TAG, cards.size() + " cards, " + wikidataIds.size() + " distinct Wikidata items");
+                    return WikipediaFetcher.fetchConservationStatuses(wikidataIds);
+                });
+            } catch (Exception e) {
+                Log.w(TAG, "Status fetch failed: " + e.getMessage());
+                if (!callGroup.isCancelled()) {
+                    jobFinished(params, true);
+                }
+                return;
+            }
+            if (callGroup.isCancelled()) {
+                return;
+            }
+
+            storeWikidataIds(firebaseHelper, backfilled,
+                    () -> updateStatuses(params, firebaseHelper, cards, wikidataIds, statuses));
+        });
+    }
+
+    private void updateStatuses(JobParameters params, FirebaseHelper firebaseHelper, List<AnimalCard> cards,
+                                Set<String> wikidataIds, Map<String, String> statuses) {
+        if (statuses.isEmpty() && !wikidataIds.isEmpty()) {
+            // Every batch failed (fetchConservationStatuses skips failed batches)
+            Log.w(TAG, "No statuses fetched for " + wikidataIds.size() + " items, retrying later");
+            jobFinished(params, true);
+            return;
+        }
+
+        Map<String, String> changed = changedStatuses(cards, statuses);
+        if (changed.isEmpty()) {
+            Log.d(TAG, "All statuses are current");
+            jobFinished(params, false);
+            return;
+        }
+
+        firebaseHelper.updateConservationStatuses(changed, new FirebaseHelper.UpdateCallback() {
+            @Override
+            public void onSuccess() {
+                Log.d(TAG, "Updated " + changed.size() + " cards");
+                jobFinished(params, false);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                Log.w(TAG, "Could not update cards: " + error);
+                jobFinished(params, true);
+            }
+        });
+    }
+
+    /**
+     * Looks up the Wikidata item of cards that have none, by animal name, and sets it on
+     * the cards. Runs on the I/O executor inside callGroup.
+     * @return Card ID to the item found, for the cards that got one
+     */
+    private static Map<String, String> backfillWikidataIds(List<AnimalCard> cards, CallGroup callGroup) {
+        Map<String, List<AnimalCard>> byName = new LinkedHashMap<>();
+        for (AnimalCard card : cards) {
+            boolean missing = card.getWikidataId() == null || card.getWikidataId().isEmpty();
+            if (missing && card.getCardId() != null && card.getAnimalName() != null
+                    && !card.getAnimalName().trim().isEmpty()) {
+                String key = AnimalInfoCache.normalizeKey(card.getAnimalName());
+                List<AnimalCard> named = byName.get(key);
+                if (named == null) {
+                    named = new ArrayList<>();
+                    byName.put(key, named);
+                }
+                named.add(card);
+            }
+        }
+
+        Map<String, String> found = new LinkedHashMap<>();
+        int lookups = 0;
+        for (List<AnimalCard> named : byName.values()) {
+            if (lookups++ == MAX_BACKFILL_NAMES || callGroup.isCancelled()) {
+                break;
+            }
+            AnimalInfo info = WikipediaFetcher.fetchAnimalInfo(named.get(0).getAnimalName());
+            if (info == null || info.getWikidataId() == null || info.getWikidataId().isEmpty()) {
+                continue;
+            }
+            for (AnimalCard card : named) {
+                card.setWikidataId(info.getWikidataId());
+                found.put(card.getCardId(), info.getWikidataId());
+            }
+        }
+        if (!byName.isEmpty()) {
+            Log.d(TAG, "Wikidata items found for " + found.size() + " of " + byName.size()
+                    + " names without one");
+        }
+        return found;
+    }
+
+    /**
+     * Saves backfilled Wikidata items, then runs next. A failed write is only logged: the
+     * items are looked up again on the next run.
+     */
+    private static void storeWikidataIds(FirebaseHelper firebaseHelper, Map<String, String> wikidataIds,
+                                         Runnable next) {
+        if (wikidataIds.isEmpty()) {
+            next.run();
+            return;
+        }
+        firebaseHelper.updateWikidataIds(wikidataIds, new FirebaseHelper.UpdateCallback() {
+            @Override
+            public void onSuccess() {
+                next.run();
+            }
+
+            @Override
+            public void onFailure(String error) {
+                Log.w(TAG, "Could not store Wikidata items: " + error);
+                next.run();
+            }
+        });
+    }
+
+    /**
+     * Returns card ID to new status for every card whose stored status differs from the
+     * current one. Cards whose item has no status now keep the one they have.
+     */
+    private static Map<String, String> changedStatuses(List<AnimalCard> cards, Map<String, String> statuses) {
+        Map<String, String> changed = new LinkedHashMap<>();
+        for (AnimalCard card : cards) {
+            String current = card.getWikidataId() != null ? statuses.get(card.getWikidataId()) : null;
+            if (current == null || card.getCardId() == null) {
+                continue;
+            }
+            String stored = card.getConservation() != null ? card.getConservation().trim() : "";
+            if (!current.equalsIgnoreCase(stored)) {
+                changed.put(card.getCardId(), current);
+                Log.d(TAG, "  " + card.getAnimalName() + ": " + stored + " -> " + current);
+            }
+        }
+        return changed;
+    }
+}
@@ -34,6 +34,21 @@ public class ConservationStatusMapper {
         put("lower risk", "LR");
     }};
 
+    // Map abbreviations back to full text (same wording as the Wikidata labels)
+    private static final Map<String, String> ABBREV_TO_FULL_TEXT = new HashMap<String, String>() {{
+        put("EX", "Extinct");
+        put("EW", "Extinct in the Wild");
+        put("CR", "Critically Endangered");
+        put("EN", "Endangered");
+        put("VU", "Vulnerable");
+        put("NT", "Near Threatened");
+        put("LC", "Least Concern");
+        put("CD", "Conservation Dependent");
+        put("DD", "Data Deficient");
+        put("NE", "Not Evaluated");
+        put("LR", "Lower Risk");
+    }};
+
     // Map abbreviations to WilderCoin values
     private static final Map<String, Integer> ABBREV_TO_COINS = new HashMap<String, Integer>() {{
         put("EX", 20);   // Extinct
@@ -108,6 +123,20 @@ public class ConservationStatusMapper {
         return "LC";
     }
 
+    /**
+     * Convert an abbreviation back to full text
+     * Example: "LC" -> "Least Concern"
+     *
+     * @param abbreviation Conservation status abbreviation (e.g., "LC", "EN")
+     * @return Full text, or null if the abbreviation is empty or unknown
+     */
+    public static String mapAbbreviationToFullText(String abbreviation) {
+        if (abbreviation == null || abbreviation.isEmpty()) {
+            return null;
+        }
+        return ABBREV_TO_FULL_TEXT.get(abbreviation.toUpperCase().trim());
+    }
+
     /**
      * Get WilderCoins reward for a conservation status abbreviation
      *
@@ -0,0 +1,179 @@
+package com.example.wildercards;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timing and size histograms for each stage of a species fetch (summary, entity request,
+ * entity parse, label lookup, ...), plus cache outcome counters.
+ *
+ * Stages record into fixed, roughly logarithmic buckets, so recording is a couple of
+ * atomic increments and the whole thing stays small. FetchMetricsActivity shows
+ * {@link #report()}; {@link #dumpToFile} writes it out for collection from devices.
+ */
+public class FetchMetrics {
+    private static final String TAG = "FetchMetrics";
+    private static final String DUMP_FILE = "fetch_metrics.txt";
+
+    // Upper bounds of the buckets; the last bucket is open-ended
+    private static final long[] MILLIS_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+    private static final long[] BYTES_BOUNDS = {256, 1024, 4096, 16384, 65536, 262144, 1048576, 4194304};
+
+    private static final Map<String, Histogram> timings = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> sizes = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Fixed-bucket histogram. Percentiles are reported as the upper bound of the
+     * bucket they fall into.
+     */
+    static class Histogram {
+        private final long[] bounds;
+        private final AtomicLongArray buckets;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        Histogram(long[] bounds) {
+            this.bounds = bounds;
+            this.buckets = new AtomicLongArray(bounds.length + 1);
+        }
+
+        void record(long value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            sum.addAndGet(value);
+            long previous;
+            while (value > (previous = max.get()) && !max.compareAndSet(previous, value)) {
+                // Retry until max is at least value
+            }
+        }
+
+        long percentile(int percentile) {
+            long total = count.get();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return i < bounds.length ? bounds[i] : max.get();
+                }
+            }
+            return max.get();
+        }
+
+        String summary(String unit) {
+            long total = count.get();
+            return String.format(Locale.US, "n=%d avg=%d p50<=%d p90<=%d p99<=%d max=%d %s",
+                    total, total > 0 ? sum.get() / total : 0,
+                    percentile(50), percentile(90), percentile(99), max.get(), unit);
+        }
+    }
+
+    /**
+     * Records how long a stage took.
+     */
+    public static void recordTime(String stage, long millis) {
+        timings.computeIfAbsent(stage, key -> new Histogram(MILLIS_BOUNDS)).record(millis);
+    }
+
+    /**
+     * Records how many bytes a stage transferred or read.
+     */
+    public static void recordBytes(String stage, long bytes) {
+        if (bytes < 0) {
+            return;
+        }
+        sizes.computeIfAbsent(stage, key -> new Histogram(BYTES_BOUNDS)).record(bytes);
+    }
+
+    /**
+     * Counts an event, e.g., "cache.fresh" or "labels.bundled".
+     */
+    public static void increment(String counter) {
+        counters.computeIfAbsent(counter, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Milliseconds elapsed since a System.nanoTime() start value.
+     */
+    public static long since(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public static void reset() {
+        timings.clear();
+        sizes.clear();
+        counters.clear();
+    }
+
+    /**
+     * Human-readable snapshot of every stage, sorted by name.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+
+        report.append("== Stage timings ==\n");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(timings).entrySet()) {
+            report.append(entry.getKey()).append(": ").append(entry.getValue().summary("ms")).append('\n');
+        }
+
+        report.append("\n== Bytes ==\n");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(sizes).entrySet()) {
+            report.append(entry.getKey()).append(": ").append(entry.getValue().summary("B")).append('\n');
+        }
+
+        report.append("\n== Counters ==\n");
+        for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(counters).entrySet()) {
+            report.append(entry.getKey()).append(": ").append(entry.getValue().get()).append('\n');
+        }
+
+        report.append("\n== Endpoint latency ==\n").append(WikiApi.getLatencyStats());
+        return report.toString();
+    }
+
+    /**
+     * Writes {@link #report()} to fetch_metrics.txt in the app's external files directory
+     * (readable with adb pull), or internal storage if that is unavailable.
+     *
+     * @return The file written, or null on failure
+     */
+    public static File dumpToFile(Context context) {
+        File dir = context.getExternalFilesDir(null);
+        if (dir == null) {
+            dir = context.getFilesDir();
+        }
+        File file = new File(dir, DUMP_FILE);
+
+        String header = "# WilderCards fetch metrics, " +
+                new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US).format(new Date()) + "\n\n";
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write((header + report()).getBytes(StandardCharsets.UTF_8));
+            Log.d(TAG, "Metrics written to " + file.getAbsolutePath());
+            return file;
+        } catch (Exception e) {
+            Log.e(TAG, "Could not write metrics: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.wildercards;
+
+import android.os.Bundle;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.wildercards.databinding.ActivityFetchMetricsBinding;
+
+import java.io.File;
+
+/**
+ * Debug screen showing the FetchMetrics report. Reached by long-pressing the name on
+ * the profile screen in debug builds.
+ */
+public class FetchMetricsActivity extends AppCompatActivity {
+
+    private ActivityFetchMetricsBinding binding;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        binding = ActivityFetchMetricsBinding.inflate(getLayoutInflater());
+        setContentView(binding.getRoot());
+
+        binding.buttonRefresh.setOnClickListener(v -> refresh());
+
+        binding.buttonReset.setOnClickListener(v -> {
+            FetchMetrics.reset();
+            refresh();
+        });
+
+        binding.buttonDump.setOnClickListener(v -> AppExecutors.io().execute(() -> {
+            File file = FetchMetrics.dumpToFile(this);
+            AppExecutors.mainThread().execute(() -> Toast.makeText(this,
+                    file != null ? "Written to " + file.getAbsolutePath() : "Could not write metrics",
+                    Toast.LENGTH_LONG).show());
+        }));
+
+        refresh();
+    }
+
+    private void refresh() {
+        binding.textMetrics.setText(FetchMetrics.report());
+    }
+}
@@ -4,6 +4,8 @@ import android.content.Context;
 import android.util.Log;
 import android.widget.Toast;
 
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentReference;
@@ -12,15 +14,18 @@ import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class FirebaseHelper {
 
     private static final String TAG = "FirebaseHelper";
+    private static final int MAX_BATCH_WRITES = 500; // Firestore limit per batch
     private FirebaseFirestore db;
     private FirebaseAuth mAuth;
 
@@ -34,7 +39,7 @@ public class FirebaseHelper {
      * Get current authenticated user ID
      * @return userId or null if not authenticated
      */
-    private String getCurrentUserId() {
+    public String getCurrentUserId() {
         FirebaseUser currentUser = mAuth.getCurrentUser();
         if (currentUser != null) {
             return currentUser.getUid();
@@ -247,6 +252,26 @@ public class FirebaseHelper {
                                String habitat,
                                String conservation,
                                SaveCallback callback) {
+        saveAnimalCard(context, animalName, description, imageUrl, null, sciName, habitat, conservation,
+                null, callback);
+    }
+
+    /**
+     * Same as above, also storing the Wikidata item and the card stats (mass, lifespan,
+     * length, speed, parent taxon) of info, the lookup the card was made from. info may
+     * be null, e.g. if the lookup failed. thumbnailUrl is the small copy of the art from
+     * CardArtUploader, or null if the art was not uploaded.
+     */
+    public void saveAnimalCard(Context context,
+                               String animalName,
+                               String description,
+                               String imageUrl,
+                               String thumbnailUrl,
+                               String sciName,
+                               String habitat,
+                               String conservation,
+                               AnimalInfo info,
+                               SaveCallback callback) {
 
         Log.d(TAG, "=== Starting to save card with WilderCoins ===");
 
@@ -288,9 +313,18 @@ public class FirebaseHelper {
         cardData.put("animalName", animalName);
         cardData.put("description", description != null ? description : "");
         cardData.put("imageUrl", imageUrl);
+        cardData.put("thumbnailUrl", thumbnailUrl != null ? thumbnailUrl : "");
         cardData.put("sciName", sciName != null ? sciName : "");
         cardData.put("habitat", habitat != null ? habitat : "");
         cardData.put("conservation", conservation != null ? conservation : "");
+        if (info != null) {
+            cardData.put("wikidataId", info.getWikidataId() != null ? info.getWikidataId() : "");
+            cardData.put("mass", info.getMass() != null ? info.getMass() : "");
+            cardData.put("lifespan", info.getLifespan() != null ? info.getLifespan() : "");
+            cardData.put("length", info.getLength() != null ? info.getLength() : "");
+            cardData.put("speed", info.getSpeed() != null ? info.getSpeed() : "");
+            cardData.put("parentTaxon", info.getParentTaxon() != null ? info.getParentTaxon() : "");
+        }
         cardData.put("conservationAbbrev", statusAbbrev);
         cardData.put("coinsEarned", coinsEarned);
         cardData.put("rarityName", rarityName);
@@ -391,6 +425,87 @@ public class FirebaseHelper {
                 });
     }
 
+    /**
+     * Update the conservation status (and the rarity derived from it) of several cards
+     * with batched writes: one commit for up to MAX_BATCH_WRITES cards.
+     * Coins already earned for a card are not changed.
+     * Path: /users/{userId}/animal_cards/{cardId}
+     *
+     * @param statuses Card ID to new conservation status (full text, e.g. "Endangered")
+     */
+    public void updateConservationStatuses(Map<String, String> statuses, UpdateCallback callback) {
+        Log.d(TAG, "Updating conservation status of " + statuses.size() + " cards");
+
+        Map<String, Map<String, Object>> updates = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : statuses.entrySet()) {
+            String conservation = entry.getValue();
+            String statusAbbrev = ConservationStatusMapper.mapFullTextToAbbreviation(conservation);
+
+            Map<String, Object> update = new HashMap<>();
+            update.put("conservation", conservation);
+            update.put("conservationAbbrev", statusAbbrev);
+            update.put("rarityName", ConservationStatusMapper.getRarityName(statusAbbrev));
+            updates.put(entry.getKey(), update);
+        }
+        updateCards(updates, "conservation statuses", callback);
+    }
+
+    /**
+     * Store the Wikidata item of cards saved without one, with batched writes.
+     * Path: /users/{userId}/animal_cards/{cardId}
+     *
+     * @param wikidataIds Card ID to Wikidata item ID (e.g. "Q19939")
+     */
+    public void updateWikidataIds(Map<String, String> wikidataIds, UpdateCallback callback) {
+        Log.d(TAG, "Storing Wikidata items of " + wikidataIds.size() + " cards");
+
+        Map<String, Map<String, Object>> updates = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : wikidataIds.entrySet()) {
+            Map<String, Object> update = new HashMap<>();
+            update.put("wikidataId", entry.getValue());
+            updates.put(entry.getKey(), update);
+        }
+        updateCards(updates, "Wikidata items", callback);
+    }
+
+    /**
+     * Applies card ID -> field updates in batches of up to MAX_BATCH_WRITES.
+     */
+    private void updateCards(Map<String, Map<String, Object>> updates, String what, UpdateCallback callback) {
+        String userId = getCurrentUserId();
+        if (userId == null) {
+            Log.e(TAG, "Cannot update " + what + " - user not authenticated");
+            if (callback != null) callback.onFailure("USER_NOT_AUTHENTICATED");
+            return;
+        }
+
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = db.batch();
+        int writes = 0;
+        for (Map.Entry<String, Map<String, Object>> entry : updates.entrySet()) {
+            batch.update(db.collection("users").document(userId)
+                    .collection("animal_cards").document(entry.getKey()), entry.getValue());
+            if (++writes == MAX_BATCH_WRITES) {
+                commits.add(batch.commit());
+                batch = db.batch();
+                writes = 0;
+            }
+        }
+        if (writes > 0) {
+            commits.add(batch.commit());
+        }
+
+        Tasks.whenAll(commits)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Updated " + what + " in " + commits.size() + " batch(es)");
+                    if (callback != null) callback.onSuccess();
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Failed to update " + what, e);
+                    if (callback != null) callback.onFailure(e.getMessage());
+                });
+    }
+
     /**
      * Delete animal card from user's collection
      * Path: /users/{userId}/animal_cards/{cardId}
@@ -0,0 +1,255 @@
+package com.example.wildercards;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Disk store for generated card art, so an image is downloaded from the generator once
+ * and then served locally.
+ *
+ * Entries are addressed by a key: generated images by (sanitized name, seed, model,
+ * size), which fully determines what the generator returns, and saved card art by its
+ * Storage download URL (written by CardArtUploader, so a freshly saved card shows without
+ * a download). Each entry is one file named by the SHA-256 of its key. The store is
+ * bounded by MAX_BYTES and evicts the least recently used entries first; recency
+ * survives restarts through the files' modification times.
+ */
+public class GeneratedImageStore {
+    private static final String TAG = "GeneratedImageStore";
+    private static final String DIR_NAME = "generated_art";
+    static final long MAX_BYTES = 64L * 1024 * 1024;
+
+    // File name -> size, least recently used first
+    private static final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+    private static long totalBytes;
+
+    // Key -> file name for recently used keys, so list binds do not hash every time
+    private static final int FILE_NAME_CACHE_SIZE = 256;
+    private static final Map<String, String> fileNames = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > FILE_NAME_CACHE_SIZE;
+                }
+            });
+    private static File storeDir;
+
+    /**
+     * Enables the store and indexes what is already on disk. Until this is called every
+     * lookup misses and nothing is written.
+     */
+    public static synchronized void init(Context context) {
+        if (storeDir != null) {
+            return;
+        }
+        File dir = new File(context.getApplicationContext().getCacheDir(), DIR_NAME);
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "Could not create store directory: " + dir);
+            return;
+        }
+
+        File[] files = dir.listFiles();
+        if (files != null) {
+            Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+            for (File file : files) {
+                if (file.getName().endsWith(".tmp")) {
+                    file.delete(); // Left over from an interrupted write
+                    continue;
+                }
+                index.put(file.getName(), file.length());
+                totalBytes += file.length();
+            }
+        }
+        storeDir = dir;
+        Log.d(TAG, "Store at " + dir.getAbsolutePath() + ": " + index.size() + " images, "
+                + totalBytes / 1024 + " KB");
+    }
+
+    /**
+     * Key of a generated image. name should already be sanitized the way the prompt is.
+     */
+    public static String generationKey(String name, String seed, String model, int size) {
+        return "gen|" + name + "|" + seed + "|" + model + "|" + size;
+    }
+
+    /**
+     * Key of an image by its URL, for art that has been uploaded.
+     */
+    public static String urlKey(String url) {
+        return "url|" + url;
+    }
+
+    /**
+     * @return the stored file for key, marked as recently used, or null on a miss
+     */
+    public static synchronized File get(String key) {
+        if (storeDir == null) {
+            return null;
+        }
+        String name = fileName(key);
+        if (index.get(name) == null) {
+            return null;
+        }
+        File file = new File(storeDir, name);
+        if (!file.exists()) {
+            // Cleared by the system under storage pressure
+            totalBytes -= index.remove(name);
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * Whether key is in the store, from the in-memory index only, so it is safe on the main
+     * thread. A later get() may still miss if the file has been deleted since.
+     */
+    public static boolean contains(String key) {
+        String name = fileName(key);
+        synchronized (GeneratedImageStore.class) {
+            return storeDir != null && index.containsKey(name);
+        }
+    }
+
+    /**
+     * What Glide should load for url: the stored file if the image is in the store,
+     * otherwise url itself.
+     *
+     * Called while binding views, so it answers from the in-memory index without touching
+     * the disk; the file's modification time is updated on the I/O executor, which also
+     * drops the entry if the file has gone.
+     */
+    public static Object modelFor(String url) {
+        String name = fileName(urlKey(url));
+        File file;
+        synchronized (GeneratedImageStore.class) {
+            if (storeDir == null || index.get(name) == null) {
+                return url;
+            }
+            file = new File(storeDir, name);
+        }
+        AppExecutors.io().execute(() -> touch(name, file));
+        return file;
+    }
+
+    private static void touch(String name, File file) {
+        if (file.setLastModified(System.currentTimeMillis()) || file.exists()) {
+            return;
+        }
+        synchronized (GeneratedImageStore.class) {
+            // Cleared by the system under storage pressure
+            Long size = index.remove(name);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+    }
+
+    /**
+     * Stores bytes under key.
+     * @return the stored file, or null if the store is disabled or the write failed
+     */
+    public static File put(String key, byte[] bytes) {
+        try {
+            return put(key, new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            Log.w(TAG, "Could not store " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Copies in to the store under key, then evicts down to MAX_BYTES. The entry only
+     * becomes visible once it is complete.
+     * @return the stored file, or null if the store is disabled
+     * @throws IOException if reading in or writing the file failed; nothing is stored then
+     */
+    public static File put(String key, InputStream in) throws IOException {
+        File dir;
+        synchronized (GeneratedImageStore.class) {
+            dir = storeDir;
+        }
+        if (dir == null) {
+            return null;
+        }
+
+        String name = fileName(key);
+        File file = new File(dir, name);
+        File tmp = new File(dir, name + "." + Thread.currentThread().getId() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            byte[] buffer = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            tmp.delete();
+            throw e;
+        }
+
+        synchronized (GeneratedImageStore.class) {
+            if (!tmp.renameTo(file)) {
+                tmp.delete();
+                throw new IOException("Could not commit " + file);
+            }
+            Long previous = index.put(name, file.length());
+            totalBytes += file.length() - (previous != null ? previous : 0);
+            evict(name);
+        }
+        return file;
+    }
+
+    /**
+     * Drops least recently used entries until the store fits MAX_BYTES, keeping keep.
+     */
+    private static void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> entries = index.entrySet().iterator();
+        while (totalBytes > MAX_BYTES && entries.hasNext()) {
+            Map.Entry<String, Long> entry = entries.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            new File(storeDir, entry.getKey()).delete();
+            totalBytes -= entry.getValue();
+            entries.remove();
+            Log.d(TAG, "Evicted " + entry.getKey());
+        }
+    }
+
+    private static String fileName(String key) {
+        String cached = fileNames.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String name = sha256Hex(key);
+        fileNames.put(key, name);
+        return name;
+    }
+
+    private static String sha256Hex(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.wildercards;
+
+import android.os.SystemClock;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import okhttp3.Call;
+
+/**
+ * One image generation request: the prompt URL, seed and size it was made with, its
+ * timing, and the stored image once it has arrived.
+ *
+ * ImageGenerator creates a session per request and hands it back in the callback, so
+ * overlapping generations (a retry pressed mid-load, several variants) each report
+ * their own result. Fields set on completion are written on a background thread and
+ * read on the main thread, hence volatile.
+ */
+public class GenerationSession {
+    private final String animalName;
+    private final String seed;
+    private final int size;
+    private final String url;
+    private final String storeKey;
+    private final long startedAt = SystemClock.elapsedRealtime();
+
+    private volatile GenerationSession preview;
+    private volatile Call call;
+    private volatile boolean cancelled;
+    private volatile File file;
+    private volatile boolean failed;
+    private volatile long finishedAt;
+
+    GenerationSession(String animalName, String seed, int size, String url, String storeKey) {
+        this.animalName = animalName;
+        this.seed = seed;
+        this.size = size;
+        this.url = url;
+        this.storeKey = storeKey;
+    }
+
+    public String getAnimalName() { return animalName; }
+    public String getSeed() { return seed; }
+    public int getSize() { return size; }
+    public String getUrl() { return url; }
+
+    String getStoreKey() { return storeKey; }
+
+    /**
+     * @return the stored image, or null until it has arrived
+     */
+    public File getFile() { return file; }
+
+    public boolean isFinished() { return finishedAt != 0; }
+
+    /**
+     * @return true once the image could not be fetched or could not be decoded
+     */
+    public boolean isFailed() { return failed; }
+
+    /**
+     * @return milliseconds from start to the image being stored, or so far if unfinished
+     */
+    public long getElapsedMs() {
+        return (finishedAt != 0 ? finishedAt : SystemClock.elapsedRealtime()) - startedAt;
+    }
+
+    /**
+     * Reads the image bytes; call off the main thread.
+     * @return the encoded image as the generator sent it, or null if it has not arrived
+     */
+    public byte[] readBytes() throws IOException {
+        File stored = file;
+        if (stored == null) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(stored)) {
+            byte[] bytes = new byte[(int) stored.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                int n = in.read(bytes, read, bytes.length - read);
+                if (n < 0) throw new IOException("Truncated " + stored);
+                read += n;
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Stops the download (and the preview's) if it is still running; the callback is
+     * then not called.
+     */
+    public void cancel() {
+        cancelled = true;
+        GenerationSession placeholder = preview;
+        if (placeholder != null) {
+            placeholder.cancel();
+        }
+        Call current = call;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public boolean isCancelled() { return cancelled; }
+
+    /**
+     * @return the small image of the same seed shown while this one loads, or null
+     */
+    GenerationSession getPreview() { return preview; }
+
+    void setPreview(GenerationSession preview) { this.preview = preview; }
+
+    void setCall(Call call) {
+        this.call = call;
+        if (cancelled) {
+            call.cancel();
+        }
+    }
+
+    void finish(File file) {
+        this.file = file;
+        this.finishedAt = SystemClock.elapsedRealtime();
+    }
+
+    void markFailed() { this.failed = true; }
+
+    @Override
+    public String toString() {
+        return animalName + " seed " + seed + " @" + size + "px";
+    }
+}
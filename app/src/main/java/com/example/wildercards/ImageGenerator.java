@@ -1,89 +1,341 @@
 package com.example.wildercards;
 
+import android.app.Activity;
 import android.content.Context;
 import android.graphics.drawable.Drawable;
 import android.util.Log;
+import android.widget.ImageView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
+import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.target.CustomTarget;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.request.transition.DrawableCrossFadeFactory;
 import com.bumptech.glide.request.transition.Transition;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Generates card art with Pollinations. Each request is a GenerationSession carrying its
+ * own URL, seed and result, so several generations can run at once: generateVariants
+ * makes several small previews in parallel, and generateProgressive fetches the picked
+ * one at full size behind a blurred placeholder.
+ */
 public class ImageGenerator {
-    private static String lastGeneratedImageUrl = "";
+    private static final String TAG = "ImageGenerator";
+    private static final String MODEL = "flux";
+    static final int SIZE = 512;
+    // Variants are generated small, which is much faster, and only the pick at SIZE
+    static final int PREVIEW_SIZE = 192;
+    public static final int VARIANT_COUNT = 4;
+    // Placeholder size for progressive loading: arrives well before SIZE and is shown blurred
+    static final int TINY_SIZE = 64;
+    private static final int CROSSFADE_MS = 300;
+    private static final int TIMEOUT_SECONDS = 60;
+
+    private static OkHttpClient client;
 
     public interface ImageGenerationCallback {
-        void onImageGenerated(String imageUrl, Drawable resource);
-        void onImageGenerationFailed();
+        void onImageGenerated(GenerationSession session, Drawable resource);
+        void onImageGenerationFailed(GenerationSession session);
     }
 
-    public static void generateAnimalImage(Context context,
-                                           String animalName,
-                                           ImageGenerationCallback callback) {
+    /**
+     * Generates count small previews of animalName, each with its own random seed, in
+     * parallel. The callback is called once per variant, in the order they arrive; pass
+     * the seed the user picks to generateProgressive.
+     * @return the sessions, one per variant
+     */
+    public static List<GenerationSession> generateVariants(Context context,
+                                                           String animalName,
+                                                           int count,
+                                                           ImageGenerationCallback callback) {
+        List<GenerationSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            GenerationSession session = newSession(animalName, randomSeed(), PREVIEW_SIZE);
+            sessions.add(session);
+            start(context, session, callback);
+        }
+        return sessions;
+    }
+
+    /**
+     * Describes a request for animalName with the given seed and size, without starting it.
+     */
+    static GenerationSession newSession(String animalName, String seed, int size) {
+        // Sanitize and normalize the animal name
+        String sanitizedName = sanitizeAnimalName(animalName);
+
+        // Build more specific prompt
+        String hiddenPrompt = "A " + sanitizedName + " animal, Pokémon trading card style illustration, " +
+                "professional digital art, centered portrait, vibrant colors, holographic border effect, " +
+                "fantasy creature design, detailed features, clean background, high quality";
+
+        // URL-encode for Pollinations
+        String encodedPrompt;
         try {
-            // Sanitize and normalize the animal name
-            String sanitizedName = sanitizeAnimalName(animalName);
-
-            // Build more specific prompt
-            String hiddenPrompt = "A " + sanitizedName + " animal, Pokémon trading card style illustration, " +
-                    "professional digital art, centered portrait, vibrant colors, holographic border effect, " +
-                    "fantasy creature design, detailed features, clean background, high quality";
-
-            // URL-encode for Pollinations
-            String encodedPrompt = URLEncoder.encode(hiddenPrompt, "UTF-8");
-
-            // Add timestamp or random seed to force new generation each time
-            String seed = String.valueOf((int)(Math.random() * 1000000));
-
-            // Pollinations endpoint with seed parameter to generate different images
-            String url = "https://image.pollinations.ai/prompt/" + encodedPrompt +
-                    "?width=512&height=512&model=flux&nologo=true&enhance=true&seed=" + seed;
-
-            lastGeneratedImageUrl = url;
-
-            // Load with Glide with better error handling
-            Glide.with(context)
-                    .load(url)
-                    .diskCacheStrategy(DiskCacheStrategy.NONE) // Don't cache
-                    .skipMemoryCache(true) // Skip memory cache
-                    .timeout(30000) // 30 second timeout
-                    .into(new CustomTarget<Drawable>() {
-                        @Override
-                        public void onResourceReady(@NonNull Drawable resource, @Nullable Transition<? super Drawable> transition) {
-                            if (callback != null) {
-                                callback.onImageGenerated(lastGeneratedImageUrl, resource);
-                            }
-                        }
+            encodedPrompt = URLEncoder.encode(hiddenPrompt, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e); // UTF-8 is always supported
+        }
+
+        // Pollinations endpoint with seed parameter to generate different images
+        String url = "https://image.pollinations.ai/prompt/" + encodedPrompt +
+                "?width=" + size + "&height=" + size + "&model=" + MODEL + "&nologo=true&enhance=true&seed=" + seed;
+
+        // The same name, seed, model and size always give the same image, so it is
+        // downloaded into GeneratedImageStore once and loaded from there
+        String key = GeneratedImageStore.generationKey(sanitizedName, seed, MODEL, size);
+        return new GenerationSession(animalName, seed, size, url, key);
+    }
+
+    static String randomSeed() {
+        return String.valueOf((int) (Math.random() * 1000000));
+    }
+
+    /**
+     * Fetches the session's image (from the store if it is there) and decodes it.
+     */
+    static void start(Context context, GenerationSession session, ImageGenerationCallback callback) {
+        fetch(context, session, () -> {
+            if (session.getFile() == null) {
+                onGenerationFailed(context, session, callback);
+            } else {
+                display(context, session, callback);
+            }
+        });
+    }
+
+    /**
+     * Generates seed at full size into target progressively. A small image of the same
+     * seed is fetched alongside (or taken from the store, e.g. the variant the user
+     * picked) and shown blurred until the full image is ready, which then cross-fades in.
+     * The callback only reports the full image.
+     * @return the session of the full-size request; cancelling it cancels the preview too
+     */
+    public static GenerationSession generateProgressive(Context context,
+                                                        String animalName,
+                                                        String seed,
+                                                        ImageView target,
+                                                        ImageGenerationCallback callback) {
+        GenerationSession full = newSession(animalName, seed, SIZE);
+        GenerationSession preview = newSession(animalName, seed, PREVIEW_SIZE);
+        // Index-only check: this runs on the main thread; fetch reads the file on io
+        if (!GeneratedImageStore.contains(preview.getStoreKey())) {
+            preview = newSession(animalName, seed, TINY_SIZE);
+        }
+        full.setPreview(preview);
+        GenerationSession placeholder = preview;
+
+        fetch(context, placeholder, () -> {
+            // Pointless once the full image is in
+            if (placeholder.getFile() != null && full.getFile() == null) {
+                Glide.with(context)
+                        .load(placeholder.getFile())
+                        .diskCacheStrategy(DiskCacheStrategy.NONE)
+                        .transform(new BlurTransformation())
+                        .into(target);
+            }
+        });
+        fetch(context, full, () -> {
+            if (full.getFile() == null) {
+                if (placeholder.getFile() != null) {
+                    // Better the small image in focus than a blur that never resolves
+                    Glide.with(context).load(placeholder.getFile()).diskCacheStrategy(DiskCacheStrategy.NONE).into(target);
+                }
+                onGenerationFailed(context, full, callback);
+                return;
+            }
+            displayProgressive(context, full, target, callback);
+        });
+        return full;
+    }
+
+    /**
+     * Downloads the session's image into the store unless it is there already, then runs
+     * onFetched on the main thread, unless the session was cancelled or the activity is
+     * gone. session.getFile() is null if the fetch failed. Downloads run on OkHttp's
+     * dispatcher rather than AppExecutors.io(), so slow generations running in parallel
+     * do not hold up other background work.
+     */
+    private static void fetch(Context context, GenerationSession session, Runnable onFetched) {
+        AppExecutors.io().execute(() -> {
+            File file = GeneratedImageStore.get(session.getStoreKey());
+            if (file != null) {
+                complete(context, session, file, true, onFetched);
+                return;
+            }
+
+            Call call = client().newCall(new Request.Builder().url(session.getUrl()).build());
+            session.setCall(call);
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                    Log.e(TAG, "Generation request failed: " + e.getMessage());
+                    complete(context, session, null, false, onFetched);
+                }
 
-                        @Override
-                        public void onLoadFailed(@Nullable Drawable errorDrawable) {
-                            Log.e("ImageGenerator", "Failed to load image from: " + url);
-                            Toast.makeText(context, "Could not generate " + animalName + ". Try again.", Toast.LENGTH_SHORT).show();
-                            if (callback != null) {
-                                callback.onImageGenerationFailed();
-                            }
+                @Override
+                public void onResponse(@NonNull Call call, @NonNull Response response) {
+                    complete(context, session, store(session, response), false, onFetched);
+                }
+            });
+        });
+    }
+
+    /**
+     * Streams a generator response into the store.
+     * @return the stored file, or null if the request or the write failed
+     */
+    private static File store(GenerationSession session, Response response) {
+        try (Response body = response) {
+            if (!body.isSuccessful()) {
+                Log.e(TAG, "Generation failed with HTTP " + body.code());
+                return null;
+            }
+            File file = GeneratedImageStore.put(session.getStoreKey(), body.body().byteStream());
+            if (file == null) {
+                // Store disabled (not initialized); nothing to load from
+                Log.w(TAG, "Image store unavailable");
+            }
+            return file;
+        } catch (IOException e) {
+            Log.e(TAG, "Generation download failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void complete(Context context, GenerationSession session, File file, boolean fromStore,
+                                 Runnable onFetched) {
+        session.finish(file);
+        Log.d(TAG, session + (file == null ? " failed" : fromStore ? " served from the store" : " generated")
+                + " after " + session.getElapsedMs() + " ms");
+
+        AppExecutors.mainThread().execute(() -> {
+            if (session.isCancelled() || (context instanceof Activity
+                    && (((Activity) context).isFinishing() || ((Activity) context).isDestroyed()))) {
+                return;
+            }
+            onFetched.run();
+        });
+    }
+
+    private static void display(Context context, GenerationSession session,
+                                ImageGenerationCallback callback) {
+        Glide.with(context)
+                .load(session.getFile())
+                .diskCacheStrategy(DiskCacheStrategy.NONE) // Already on disk
+                .into(new CustomTarget<Drawable>() {
+                    @Override
+                    public void onResourceReady(@NonNull Drawable resource, @Nullable Transition<? super Drawable> transition) {
+                        if (callback != null) {
+                            callback.onImageGenerated(session, resource);
                         }
+                    }
+
+                    @Override
+                    public void onLoadFailed(@Nullable Drawable errorDrawable) {
+                        onGenerationFailed(context, session, callback);
+                    }
+
+                    @Override
+                    public void onLoadCleared(@Nullable Drawable placeholder) {
+                        // Not used
+                    }
+                });
+    }
 
-                        @Override
-                        public void onLoadCleared(@Nullable Drawable placeholder) {
-                            // Not used
+    /**
+     * Shows the full image in target, fading over the blurred preview. The preview is
+     * requested again as the thumbnail; it is still in Glide's memory cache, so it is
+     * back on screen at once rather than the view going blank in between.
+     */
+    private static void displayProgressive(Context context, GenerationSession full, ImageView target,
+                                           ImageGenerationCallback callback) {
+        RequestBuilder<Drawable> request = Glide.with(context)
+                .load(full.getFile())
+                .diskCacheStrategy(DiskCacheStrategy.NONE) // Already on disk
+                .transition(DrawableTransitionOptions.with(
+                        new DrawableCrossFadeFactory.Builder(CROSSFADE_MS).setCrossFadeEnabled(true).build()));
+        GenerationSession preview = full.getPreview();
+        if (preview != null && preview.getFile() != null) {
+            request = request.thumbnail(Glide.with(context)
+                    .load(preview.getFile())
+                    .diskCacheStrategy(DiskCacheStrategy.NONE)
+                    .transform(new BlurTransformation()));
+        }
+
+        request.listener(new RequestListener<Drawable>() {
+                    @Override
+                    public boolean onLoadFailed(@Nullable GlideException e, @Nullable Object model,
+                                                @NonNull Target<Drawable> target, boolean isFirstResource) {
+                        onGenerationFailed(context, full, callback);
+                        return false;
+                    }
+
+                    @Override
+                    public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model,
+                                                   Target<Drawable> target, @NonNull DataSource dataSource,
+                                                   boolean isFirstResource) {
+                        if (callback != null) {
+                            callback.onImageGenerated(full, resource);
                         }
-                    });
+                        return false; // Let Glide set it, with the cross-fade
+                    }
+                })
+                .into(target);
+    }
 
-        } catch (UnsupportedEncodingException e) {
-            e.printStackTrace();
-            Toast.makeText(context, "Error encoding animal name", Toast.LENGTH_SHORT).show();
+    private static void onGenerationFailed(Context context, GenerationSession session,
+                                           ImageGenerationCallback callback) {
+        Log.e(TAG, "Failed to load image from: " + session.getUrl());
+        session.markFailed();
+        if (session.getSize() == PREVIEW_SIZE) {
+            // Variants fail individually; the caller decides what to tell the user
             if (callback != null) {
-                callback.onImageGenerationFailed();
+                callback.onImageGenerationFailed(session);
             }
+            return;
         }
+        Toast.makeText(context, "Could not generate " + session.getAnimalName() + ". Try again.", Toast.LENGTH_SHORT).show();
+        if (callback != null) {
+            callback.onImageGenerationFailed(session);
+        }
+    }
+
+    /**
+     * Client for the generator. Generation can take 10-30 s before the first byte.
+     */
+    private static synchronized OkHttpClient client() {
+        if (client == null) {
+            client = new OkHttpClient.Builder()
+                    .connectTimeout(15, TimeUnit.SECONDS)
+                    .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .callTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .build();
+        }
+        return client;
     }
 
     private static String sanitizeAnimalName(String name) {
@@ -107,9 +359,4 @@ public class ImageGenerator {
 
         return sanitized;
     }
-
-    public static String getLastGeneratedImageUrl() {
-        return lastGeneratedImageUrl;
-    }
-
-}
\ No newline at end of file
+}
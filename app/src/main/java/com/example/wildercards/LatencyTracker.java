@@ -0,0 +1,98 @@
+package com.example.wildercards;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Keeps a sliding window of recent response times per endpoint and answers
+ * percentile queries over it. WikiApi uses the p95 to size call timeouts and the
+ * p90 to decide when to send a hedged request.
+ */
+public class LatencyTracker {
+    private static final int WINDOW = 64;     // most recent samples kept per endpoint
+    private static final int MIN_SAMPLES = 10; // fewer than this and percentiles are unknown
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    private static class Window {
+        final long[] samples = new long[WINDOW];
+        int count;
+        int next;
+    }
+
+    /**
+     * Groups requests by host and route, dropping the parts that vary per species:
+     * ".../page/summary/Tiger" -> "en.wikipedia.org/api/rest_v1/page/summary",
+     * "api.php?action=wbgetentities&ids=..." -> "www.wikidata.org/w/api.php?action=wbgetentities".
+     */
+    public static String endpointOf(HttpUrl url) {
+        String action = url.queryParameter("action");
+        if (action != null) {
+            return url.host() + url.encodedPath() + "?action=" + action;
+        }
+
+        StringBuilder endpoint = new StringBuilder(url.host());
+        List<String> segments = url.pathSegments();
+        for (int i = 0; i < segments.size() - 1; i++) {
+            endpoint.append('/').append(segments.get(i));
+        }
+        return endpoint.toString();
+    }
+
+    public void record(String endpoint, long millis) {
+        Window window = windows.computeIfAbsent(endpoint, key -> new Window());
+        synchronized (window) {
+            window.samples[window.next] = millis;
+            window.next = (window.next + 1) % WINDOW;
+            window.count = Math.min(window.count + 1, WINDOW);
+        }
+    }
+
+    /**
+     * @param percentile 0-100
+     * @return The latency in milliseconds, or -1 if there are not enough samples yet
+     */
+    public long percentile(String endpoint, int percentile) {
+        Window window = windows.get(endpoint);
+        if (window == null) {
+            return -1;
+        }
+
+        long[] sorted;
+        synchronized (window) {
+            if (window.count < MIN_SAMPLES) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(window.samples, window.count);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * One line per endpoint with its p50/p90/p95, for logging.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (String endpoint : windows.keySet()) {
+            summary.append(endpoint)
+                    .append(": p50=").append(percentile(endpoint, 50))
+                    .append(" p90=").append(percentile(endpoint, 90))
+                    .append(" p95=").append(percentile(endpoint, 95))
+                    .append(" ms\n");
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Forgets every sample.
+     */
+    public void clear() {
+        windows.clear();
+    }
+}
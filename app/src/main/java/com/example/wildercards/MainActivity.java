@@ -2,7 +2,6 @@ package com.example.wildercards;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Parcelable;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -355,7 +354,7 @@ public class MainActivity extends BaseActivity {
 
             // Load image with Glide
             Glide.with(this)
-                    .load(card.getImageUrl())
+                    .load(GeneratedImageStore.modelFor(card.getImageUrl()))
                     .diskCacheStrategy(DiskCacheStrategy.ALL)
                     .centerCrop()
                     .into(topCardImage);
@@ -429,7 +428,7 @@ public class MainActivity extends BaseActivity {
         // Load image
         if (card.getImageUrl() != null && !card.getImageUrl().isEmpty()) {
             Glide.with(this)
-                    .load(card.getImageUrl())
+                    .load(GeneratedImageStore.modelFor(card.getListImageUrl()))
                     .diskCacheStrategy(DiskCacheStrategy.ALL)
                     .centerCrop()
                     .placeholder(R.drawable.ic_launcher_background) // FIX: Use your placeholder
@@ -439,10 +438,7 @@ public class MainActivity extends BaseActivity {
         // Add click listener
         cardView.setOnClickListener(v -> {
             // Open detail activity
-            Intent intent = new Intent(MainActivity.this, AnimalDetailActivity.class);
-            intent.putExtra("CARD_ID", card.getCardId());
-            intent.putExtra("ANIMAL_CARD", (Parcelable) card);
-            startActivity(intent);
+            startActivity(AnimalDetailActivity.createIntent(MainActivity.this, card));
         });
 
         // Add to container
@@ -3,6 +3,9 @@ package com.example.wildercards
 import android.app.Application
 import android.util.Log
 import com.google.firebase.FirebaseApp
+import com.google.firebase.auth.FirebaseAuth
+import com.google.firebase.firestore.FirebaseFirestore
+import com.google.firebase.storage.FirebaseStorage
 
 class MyApplication : Application() {
     override fun onCreate() {
@@ -10,5 +13,23 @@ class MyApplication : Application() {
         Log.d("MyApplication", "onCreate - Before FirebaseApp.initializeApp")
         FirebaseApp.initializeApp(this)
         Log.d("MyApplication", "onCreate - After FirebaseApp.initializeApp")
+        if (BuildConfig.USE_FIREBASE_EMULATOR) {
+            useFirebaseEmulators(BuildConfig.FIREBASE_EMULATOR_HOST)
+        }
+        WikipediaFetcher.init(this)
+        GeneratedImageStore.init(this)
+        SpeciesPrefetchJobService.schedule(this)
+        ConservationRefreshJobService.schedule(this)
+    }
+
+    /**
+     * Points Auth, Firestore and Storage at the local emulators (ports from firebase.json).
+     * Must run before anything else uses the Firebase instances.
+     */
+    private fun useFirebaseEmulators(host: String) {
+        Log.d("MyApplication", "Using Firebase emulators on $host")
+        FirebaseAuth.getInstance().useEmulator(host, 9099)
+        FirebaseFirestore.getInstance().useEmulator(host, 8080)
+        FirebaseStorage.getInstance().useEmulator(host, 9199)
     }
 }
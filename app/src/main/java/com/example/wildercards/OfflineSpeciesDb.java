@@ -0,0 +1,191 @@
+package com.example.wildercards;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import java.io.FileInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only species index bundled as assets/species.db, built by
+ * tools/species_db/build_species_db.py.
+ *
+ * The file is memory-mapped rather than loaded: lookups binary-search the sorted name
+ * table directly in the mapped pages and only decode the one matching record, so the
+ * data never has a copy on the Java heap. The asset must be stored uncompressed
+ * (noCompress "db") for openFd() to work.
+ *
+ * Layout: a header of 10 ints (magic, version, count, then the width of each field),
+ * a table of count zero-padded names sorted by UTF-8 bytes, then count fixed-width
+ * records (title, scientific name, habitat, IUCN abbreviation, thumbnail URL) in the
+ * same order.
+ */
+public class OfflineSpeciesDb {
+    private static final String TAG = "OfflineSpeciesDb";
+    private static final String ASSET_NAME = "species.db";
+    private static final int MAGIC = 0x57435344; // "WCSD"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 10 * 4;
+
+    private static Context appContext;
+    private static volatile OfflineSpeciesDb instance;
+    private static boolean loadFailed;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int nameWidth;
+    private final int titleWidth;
+    private final int sciWidth;
+    private final int habitatWidth;
+    private final int statusWidth;
+    private final int thumbWidth;
+    private final int recordSize;
+    private final int recordsOffset;
+
+    private OfflineSpeciesDb(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported species.db format");
+        }
+        count = buffer.getInt(8);
+        nameWidth = buffer.getInt(12);
+        titleWidth = buffer.getInt(16);
+        sciWidth = buffer.getInt(20);
+        habitatWidth = buffer.getInt(24);
+        statusWidth = buffer.getInt(28);
+        thumbWidth = buffer.getInt(32);
+        recordSize = titleWidth + sciWidth + habitatWidth + statusWidth + thumbWidth;
+        recordsOffset = HEADER_SIZE + count * nameWidth;
+    }
+
+    /**
+     * Remembers the application context so the asset can be mapped lazily.
+     */
+    public static void init(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
+    /**
+     * Looks a species up by name.
+     * @param animalName The animal name; normalized like AnimalInfoCache keys
+     * @return The bundled info (without a description), or null if the species is not bundled
+     */
+    public static AnimalInfo lookup(String animalName) {
+        OfflineSpeciesDb db = get();
+        if (db == null) {
+            return null;
+        }
+        byte[] key = AnimalInfoCache.normalizeKey(animalName).getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0 || key.length > db.nameWidth) {
+            return null;
+        }
+        int index = db.find(key);
+        return index >= 0 ? db.readRecord(index) : null;
+    }
+
+    private static OfflineSpeciesDb get() {
+        OfflineSpeciesDb result = instance;
+        if (result == null) {
+            synchronized (OfflineSpeciesDb.class) {
+                result = instance;
+                if (result == null && appContext != null && !loadFailed) {
+                    result = open(appContext);
+                    instance = result;
+                    loadFailed = result == null;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static OfflineSpeciesDb open(Context context) {
+        try (AssetFileDescriptor fd = context.getAssets().openFd(ASSET_NAME);
+             FileInputStream in = fd.createInputStream();
+             FileChannel channel = in.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+            OfflineSpeciesDb db = new OfflineSpeciesDb(mapped);
+            Log.d(TAG, "Mapped " + db.count + " species (" + fd.getLength() + " bytes)");
+            return db;
+        } catch (Exception e) {
+            Log.w(TAG, "Could not map " + ASSET_NAME + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Binary search over the name table.
+     * @return The record index, or -1
+     */
+    private int find(byte[] key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareName(HEADER_SIZE + mid * nameWidth, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the zero-padded name at offset with key as unsigned bytes.
+     */
+    private int compareName(int offset, byte[] key) {
+        for (int i = 0; i < nameWidth; i++) {
+            int a = buffer.get(offset + i) & 0xff;
+            int b = i < key.length ? key[i] & 0xff : 0;
+            if (a != b) {
+                return a - b;
+            }
+            if (a == 0) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private AnimalInfo readRecord(int index) {
+        int offset = recordsOffset + index * recordSize;
+        String title = readString(offset, titleWidth);
+        offset += titleWidth;
+        String scientificName = readString(offset, sciWidth);
+        offset += sciWidth;
+        String habitat = readString(offset, habitatWidth);
+        offset += habitatWidth;
+        String status = readString(offset, statusWidth);
+        offset += statusWidth;
+        String thumbnail = readString(offset, thumbWidth);
+
+        String conservationStatus = ConservationStatusMapper.mapAbbreviationToFullText(status);
+        return new AnimalInfo(
+                title,
+                scientificName.isEmpty() ? "Unknown" : scientificName,
+                "No description available",
+                thumbnail,
+                habitat.isEmpty() ? "Unknown" : habitat,
+                conservationStatus != null ? conservationStatus : "Unknown"
+        );
+    }
+
+    private String readString(int offset, int width) {
+        int length = 0;
+        while (length < width && buffer.get(offset + length) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -73,6 +73,14 @@ public class ProfileActivity extends BaseActivity {
             startActivity(intent);
             finish();
         });
+
+        // Debug builds only: long-press the name to see fetch latency metrics
+        if (BuildConfig.DEBUG) {
+            binding.textName.setOnLongClickListener(v -> {
+                startActivity(new Intent(ProfileActivity.this, FetchMetricsActivity.class));
+                return true;
+            });
+        }
     }
 
     private void loadUserProfile(){
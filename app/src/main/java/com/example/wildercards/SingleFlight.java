@@ -0,0 +1,172 @@
+package com.example.wildercards;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Coalesces concurrent calls for the same key into one execution.
+ *
+ * The first caller for a key starts the work; callers that arrive while it is in
+ * flight share the same future and get the same result (or the same exception).
+ * Once the work finishes the key is released, so later calls run again (they are
+ * expected to hit a cache instead).
+ *
+ * Work started with {@link #submit} is reference counted: it is only cancelled
+ * once every subscriber has cancelled.
+ */
+public class SingleFlight<T> {
+    private final ConcurrentHashMap<String, Flight<T>> inFlight = new ConcurrentHashMap<>();
+
+    private static class Flight<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        int subscribers;
+        Runnable onCancel;
+    }
+
+    /**
+     * A caller's share of an in-flight call.
+     */
+    public class Subscription {
+        private final String key;
+        private final Flight<T> flight;
+        private volatile boolean cancelled;
+
+        private Subscription(String key, Flight<T> flight) {
+            this.key = key;
+            this.flight = flight;
+        }
+
+        public CompletableFuture<T> future() {
+            return flight.future;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Leaves the flight. The shared work is cancelled if nobody else is waiting for it.
+         */
+        public void cancel() {
+            synchronized (flight) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+            leave(key, flight);
+        }
+    }
+
+    /**
+     * Runs work for key on the calling thread, or blocks on the call already in flight for it.
+     */
+    public T run(String key, Callable<T> work) throws Exception {
+        Flight<T> mine = new Flight<>();
+        Flight<T> flight = join(key, mine);
+
+        if (flight != mine) {
+            try {
+                return flight.future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw cause instanceof Exception ? (Exception) cause : e;
+            } finally {
+                // Done waiting (or interrupted): no longer holds the flight open
+                leave(key, flight);
+            }
+        }
+
+        try {
+            T result = work.call();
+            mine.future.complete(result);
+            return result;
+        } catch (Throwable t) {
+            // Errors too (e.g., OutOfMemoryError while parsing), or joiners would wait forever
+            mine.future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Starts work for key on executor, or subscribes to the call already in flight for it.
+     *
+     * @param onCancel Run if this call starts the work and every subscriber later cancels
+     *                 (e.g., to abort its HTTP calls); ignored when joining an existing flight
+     */
+    public Subscription submit(String key, Executor executor, Callable<T> work, Runnable onCancel) {
+        Flight<T> mine = new Flight<>();
+        mine.onCancel = onCancel;
+        Flight<T> flight = join(key, mine);
+
+        if (flight == mine) {
+            executor.execute(() -> {
+                try {
+                    if (!mine.future.isDone()) {
+                        mine.future.complete(work.call());
+                    }
+                } catch (Exception e) {
+                    mine.future.completeExceptionally(e);
+                } catch (Throwable t) {
+                    mine.future.completeExceptionally(t);
+                    throw t;
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            });
+        }
+        return new Subscription(key, flight);
+    }
+
+    /**
+     * @return true if a call for key is currently in flight
+     */
+    public boolean isInFlight(String key) {
+        return inFlight.containsKey(key);
+    }
+
+    /**
+     * Drops one subscriber from flight, cancelling the work if it was the last one and
+     * the work has not finished.
+     */
+    private void leave(String key, Flight<T> flight) {
+        Runnable onCancel = null;
+        synchronized (flight) {
+            flight.subscribers--;
+            if (flight.subscribers <= 0 && !flight.future.isDone()) {
+                onCancel = flight.onCancel;
+                inFlight.remove(key, flight);
+                flight.future.cancel(false);
+            }
+        }
+        if (onCancel != null) {
+            onCancel.run();
+        }
+    }
+
+    /**
+     * Registers as a subscriber of the flight for key, installing candidate if there is none.
+     */
+    private Flight<T> join(String key, Flight<T> candidate) {
+        while (true) {
+            Flight<T> existing = inFlight.putIfAbsent(key, candidate);
+            Flight<T> flight = existing != null ? existing : candidate;
+            synchronized (flight) {
+                // A flight cancelled by its last subscriber is removed; retry with a fresh one
+                if (flight.future.isCancelled()) {
+                    continue;
+                }
+                flight.subscribers++;
+                return flight;
+            }
+        }
+    }
+}
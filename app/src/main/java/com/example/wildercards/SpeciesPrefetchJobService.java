@@ -0,0 +1,123 @@
+package com.example.wildercards;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.Gson;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that warms the species info cache while the device is charging on an
+ * unmetered network, so detail screens for the home carousel (topCards.json) and the
+ * user's own collection open without waiting for Wikipedia.
+ */
+public class SpeciesPrefetchJobService extends JobService {
+    private static final String TAG = "SpeciesPrefetchJob";
+    private static final int JOB_ID = 1001;
+    private static final long PERIOD = TimeUnit.DAYS.toMillis(1);
+
+    private volatile CallGroup group;
+
+    /**
+     * Schedules the daily prefetch job unless it is already scheduled.
+     */
+    public static void schedule(Context context) {
+        JobScheduler scheduler = (JobScheduler) context.getSystemService(Context.JOB_SCHEDULER_SERVICE);
+        if (scheduler == null || scheduler.getPendingJob(JOB_ID) != null) {
+            return;
+        }
+
+        JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, SpeciesPrefetchJobService.class))
+                .setRequiredNetworkType(JobInfo.NETWORK_TYPE_UNMETERED)
+                .setRequiresCharging(true)
+                .setPeriodic(PERIOD)
+                .build();
+        int result = scheduler.schedule(job);
+        Log.d(TAG, "Prefetch job scheduled: " + (result == JobScheduler.RESULT_SUCCESS));
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        Log.d(TAG, "Prefetch job started");
+        List<String> names = loadTopCardNames();
+
+        FirebaseHelper firebaseHelper = new FirebaseHelper();
+        if (!firebaseHelper.isUserAuthenticated()) {
+            prefetch(params, names);
+            return true;
+        }
+
+        firebaseHelper.fetchUserAnimalCards(new FirebaseHelper.FetchCallback() {
+            @Override
+            public void onSuccess(List<AnimalCard> cards) {
+                for (AnimalCard card : cards) {
+                    if (card.getAnimalName() != null) {
+                        names.add(card.getAnimalName());
+                    }
+                }
+                prefetch(params, names);
+            }
+
+            @Override
+            public void onFailure(String error) {
+                Log.w(TAG, "Could not load collection, prefetching top cards only: " + error);
+                prefetch(params, names);
+            }
+        });
+        return true; // Work continues on a background thread
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        // Constraints no longer met (unplugged, left Wi-Fi): abort and retry later
+        Log.d(TAG, "Prefetch job stopped");
+        CallGroup current = group;
+        if (current != null) {
+            current.cancel();
+        }
+        return true;
+    }
+
+    private void prefetch(JobParameters params, List<String> names) {
+        CallGroup callGroup = new CallGroup();
+        group = callGroup;
+
+        AppExecutors.io().execute(() -> {
+            try {
+                callGroup.run(() -> WikipediaFetcher.fetchAnimalInfoBatch(names));
+                Log.d(TAG, "Prefetched " + names.size() + " names");
+            } catch (Exception e) {
+                Log.w(TAG, "Prefetch failed: " + e.getMessage());
+            }
+            if (!callGroup.isCancelled()) {
+                jobFinished(params, false);
+            }
+        });
+    }
+
+    private List<String> loadTopCardNames() {
+        List<String> names = new ArrayList<>();
+        try (Reader reader = new InputStreamReader(getAssets().open("topCards.json"), StandardCharsets.UTF_8)) {
+            AnimalResponse response = new Gson().fromJson(reader, AnimalResponse.class);
+            if (response != null && response.getAnimals() != null) {
+                for (TopCards card : response.getAnimals()) {
+                    names.add(card.getName());
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading topCards.json: " + e.getMessage());
+        }
+        return names;
+    }
+}
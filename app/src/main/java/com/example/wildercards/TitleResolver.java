@@ -0,0 +1,104 @@
+package com.example.wildercards;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Maps free-text animal labels ("Bengal tigers", "Panthera tigris tigris") to canonical
+ * Wikipedia article titles before the summary is fetched, so the request does not 404
+ * or go through a redirect.
+ *
+ * Two sources are consulted: redirects and searches resolved at runtime (persisted in
+ * SharedPreferences, so each one costs a round trip only once), then the bundled alias
+ * index in assets/species_aliases.tsv.
+ */
+public class TitleResolver {
+    private static final String TAG = "TitleResolver";
+    private static final String ASSET_NAME = "species_aliases.tsv";
+    private static final String PREFS_NAME = "title_resolutions";
+
+    private static Context appContext;
+    private static volatile AliasTrie aliases;
+
+    /**
+     * Remembers the application context; the alias index is loaded lazily.
+     */
+    public static void init(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
+    /**
+     * @param label The label as recognized or typed
+     * @return The canonical article title, or null if the label is not known
+     */
+    public static String resolve(String label) {
+        String key = AnimalInfoCache.normalizeKey(label);
+        if (key.isEmpty()) {
+            return null;
+        }
+
+        SharedPreferences prefs = prefs();
+        String learned = prefs != null ? prefs.getString(key, null) : null;
+        if (learned != null) {
+            Log.d(TAG, "Resolved '" + label + "' to '" + learned + "' (learned)");
+            return learned;
+        }
+
+        AliasTrie trie = getAliases();
+        String alias = trie != null ? trie.get(key) : null;
+        if (alias != null) {
+            Log.d(TAG, "Resolved '" + label + "' to '" + alias + "' (alias index)");
+        }
+        return alias;
+    }
+
+    /**
+     * Persists a resolution found at runtime (a followed redirect or a search result).
+     * Resolutions that do not change the title are not stored.
+     */
+    public static void remember(String label, String canonicalTitle) {
+        String key = AnimalInfoCache.normalizeKey(label);
+        SharedPreferences prefs = prefs();
+        if (prefs == null || key.isEmpty() || canonicalTitle == null
+                || key.equals(AnimalInfoCache.normalizeKey(canonicalTitle))) {
+            return;
+        }
+        Log.d(TAG, "Remembering '" + label + "' -> '" + canonicalTitle + "'");
+        prefs.edit().putString(key, canonicalTitle).apply();
+    }
+
+    private static SharedPreferences prefs() {
+        Context context = appContext;
+        return context != null ? context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE) : null;
+    }
+
+    private static AliasTrie getAliases() {
+        AliasTrie result = aliases;
+        if (result == null) {
+            synchronized (TitleResolver.class) {
+                result = aliases;
+                if (result == null && appContext != null) {
+                    result = load(appContext);
+                    aliases = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static AliasTrie load(Context context) {
+        try (Reader reader = new InputStreamReader(context.getAssets().open(ASSET_NAME), StandardCharsets.UTF_8)) {
+            AliasTrie trie = AliasTrie.load(reader);
+            Log.d(TAG, "Loaded " + trie.size() + " aliases");
+            return trie;
+        } catch (Exception e) {
+            Log.w(TAG, "Could not load " + ASSET_NAME + ": " + e.getMessage());
+            return new AliasTrie();
+        }
+    }
+}
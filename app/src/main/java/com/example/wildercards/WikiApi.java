@@ -0,0 +1,605 @@
+package com.example.wildercards;
+
+import android.util.Log;
+
+import com.google.gson.JsonArray;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import okhttp3.logging.HttpLoggingInterceptor;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+
+/**
+ * Retrofit services for the Wikipedia REST and Wikidata APIs, backed by one shared
+ * OkHttpClient. Sharing the client means a single connection pool, so repeated
+ * species lookups reuse warm HTTP/2 connections and TLS sessions instead of doing a
+ * full handshake per request. OkHttp also negotiates gzip transparently.
+ *
+ * {@link #execute} also deals with slow and flaky servers: the wait for response headers
+ * adapts to the latency observed per endpoint, a hedged duplicate is sent when a request is slower
+ * than the usual p90, and transient failures are retried with jittered backoff.
+ */
+public class WikiApi {
+    private static final String TAG = "WikiApi";
+    private static final int TIMEOUT_SECONDS = 15; // upper bound, and the default until latencies are known
+    private static final String USER_AGENT = "WildercardsApp/1.0";
+
+    // Adaptive wait for response headers: TIMEOUT_P95_MULTIPLIER x p95 (LatencyTracker
+    // measures time to headers), clamped to [MIN_TIMEOUT_MS, TIMEOUT_SECONDS]. Reading the
+    // body is only limited by the client's per-read timeout, so large streamed entities
+    // are never cut off part-way.
+    private static final int TIMEOUT_P95_MULTIPLIER = 3;
+    private static final long MIN_TIMEOUT_MS = 5000;
+
+    // Retries for transient failures (I/O errors, 429, 5xx). All attempts of one call,
+    // backoff included, share a budget of TIMEOUT_SECONDS for getting headers, so retrying
+    // never waits longer than a single attempt could.
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_BASE_MS = 250;
+    private static final long BACKOFF_MAX_MS = 4000;
+
+    private static final LatencyTracker latencies = new LatencyTracker();
+    private static final ScheduledThreadPoolExecutor headerDeadlines = createDeadlineExecutor();
+    private static volatile boolean hedgingEnabled = true;
+
+    static final String WIKIPEDIA_BASE_URL = "https://en.wikipedia.org/";
+    static final String WIKIDATA_BASE_URL = "https://www.wikidata.org/";
+
+    // Overridable so tests and benchmarks can point the services at a local server
+    private static String wikipediaBaseUrl = WIKIPEDIA_BASE_URL;
+    private static String wikidataBaseUrl = WIKIDATA_BASE_URL;
+
+    /**
+     * Wikipedia REST endpoints.
+     */
+    public interface WikipediaService {
+        @GET("api/rest_v1/page/summary/{title}")
+        Call<WikiSummary> getSummary(@Path("title") String title);
+
+        /**
+         * Conditional summary request; null validators are omitted. Answers 304 if unchanged.
+         */
+        @GET("api/rest_v1/page/summary/{title}")
+        Call<WikiSummary> getSummary(@Path("title") String title,
+                                     @Header("If-None-Match") String etag,
+                                     @Header("If-Modified-Since") String lastModified);
+
+        /**
+         * Title search (opensearch), following redirects. Responds with
+         * [query, [titles], [descriptions], [urls]].
+         */
+        @GET("w/api.php?action=opensearch&format=json&namespace=0&limit=1&redirects=resolve")
+        Call<JsonArray> searchTitles(@Query("search") String query);
+    }
+
+    /**
+     * Wikidata endpoints. Entity responses are streamed into WikidataEntityParser
+     * rather than converted, so the parser can stop reading early.
+     */
+    public interface WikidataService {
+        @Streaming
+        @GET("wiki/Special:EntityData/{id}.json")
+        Call<ResponseBody> getEntityData(@Path("id") String entityId);
+
+        /**
+         * Conditional entity request. Answers 304 if the entity is unchanged.
+         */
+        @Streaming
+        @GET("wiki/Special:EntityData/{id}.json")
+        Call<ResponseBody> getEntityData(@Path("id") String entityId,
+                                         @Header("If-Modified-Since") String lastModified);
+
+        @Streaming
+        @GET("w/api.php?action=wbgetentities&format=json")
+        Call<ResponseBody> getEntities(@Query("ids") String ids,
+                                       @Query("props") String props,
+                                       @Query("languages") String languages);
+
+        @Streaming
+        @GET("w/api.php?action=wbgetentities&format=json&normalize=1")
+        Call<ResponseBody> getEntitiesByTitle(@Query("sites") String site,
+                                              @Query("titles") String titles,
+                                              @Query("props") String props,
+                                              @Query("languages") String languages);
+    }
+
+    private static OkHttpClient client;
+    private static WikipediaService wikipediaService;
+    private static WikidataService wikidataService;
+
+    public static synchronized OkHttpClient client() {
+        if (client == null) {
+            HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
+            logging.setLevel(BuildConfig.DEBUG
+                    ? HttpLoggingInterceptor.Level.BASIC
+                    : HttpLoggingInterceptor.Level.NONE);
+
+            // Hedged requests briefly double the calls per host
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequestsPerHost(10);
+
+            client = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+                    .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                    .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                            .header("User-Agent", USER_AGENT)
+                            .header("Accept", "application/json")
+                            .build()))
+                    .addInterceptor(logging)
+                    .addNetworkInterceptor(chain -> {
+                        // Network level: counts the bytes on the wire, before gzip decoding
+                        okhttp3.Response response = chain.proceed(chain.request());
+                        String endpoint = LatencyTracker.endpointOf(chain.request().url());
+                        return response.newBuilder()
+                                .body(new ByteCountingBody(response.body(), "wire " + endpoint))
+                                .build();
+                    })
+                    .build();
+        }
+        return client;
+    }
+
+    public static synchronized WikipediaService wikipedia() {
+        if (wikipediaService == null) {
+            wikipediaService = retrofit(wikipediaBaseUrl).create(WikipediaService.class);
+        }
+        return wikipediaService;
+    }
+
+    public static synchronized WikidataService wikidata() {
+        if (wikidataService == null) {
+            wikidataService = retrofit(wikidataBaseUrl).create(WikidataService.class);
+        }
+        return wikidataService;
+    }
+
+    /**
+     * Points the services at other hosts (e.g., a MockWebServer), or back at the real
+     * ones with {@link #WIKIPEDIA_BASE_URL} and {@link #WIKIDATA_BASE_URL}. The shared
+     * client and its connection pool are kept.
+     */
+    static synchronized void setBaseUrls(String wikipedia, String wikidata) {
+        wikipediaBaseUrl = wikipedia;
+        wikidataBaseUrl = wikidata;
+        wikipediaService = null;
+        wikidataService = null;
+    }
+
+    /**
+     * Executes a call synchronously, registering it (and any hedge or retry) with the
+     * CallGroup bound to the calling thread, if any, so the fetch that made it can be
+     * cancelled.
+     *
+     * I/O errors and 429/5xx responses are retried up to MAX_ATTEMPTS times with
+     * jittered exponential backoff, within a total of TIMEOUT_SECONDS; the last response
+     * is returned as-is.
+     */
+    public static <T> Response<T> execute(Call<T> call) throws IOException {
+        String endpoint = LatencyTracker.endpointOf(call.request().url());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        IOException lastError = null;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                call = call.clone();
+            }
+
+            Response<T> response = null;
+            try {
+                response = executeOnce(call, endpoint, remainingMs(deadline));
+                if (!isRetryable(response.code()) || attempt == MAX_ATTEMPTS - 1) {
+                    return response;
+                }
+                lastError = new IOException("HTTP " + response.code());
+
+            } catch (IOException e) {
+                // Cancelled by the caller rather than by a header deadline: give up
+                CallGroup group = CallGroup.current();
+                if ((call.isCanceled() && !(e instanceof HeaderTimeoutException))
+                        || (group != null && group.isCancelled())) {
+                    throw e;
+                }
+                Log.w(TAG, "Request to " + endpoint + " failed (" + e.getMessage() + "), attempt " +
+                        (attempt + 1) + "/" + MAX_ATTEMPTS);
+                lastError = e;
+            }
+            if (attempt == MAX_ATTEMPTS - 1) {
+                break;
+            }
+
+            long delay = backoffDelay(attempt + 1);
+            if (delay >= remainingMs(deadline)) {
+                Log.w(TAG, "No time left to retry " + endpoint);
+                if (response != null) {
+                    return response;
+                }
+                break;
+            }
+            if (response != null) {
+                Log.w(TAG, "HTTP " + response.code() + " from " + endpoint + ", retrying");
+                discard(response);
+            }
+            Log.d(TAG, "Retrying " + endpoint + " in " + delay + " ms");
+            sleep(delay);
+        }
+        throw lastError;
+    }
+
+    /**
+     * Enables or disables hedged requests (on by default).
+     */
+    public static void setHedgingEnabled(boolean enabled) {
+        hedgingEnabled = enabled;
+    }
+
+    /**
+     * Returns the observed latency percentiles per endpoint, for debugging.
+     */
+    public static String getLatencyStats() {
+        return latencies.summary();
+    }
+
+    /**
+     * Forgets the observed latencies, so timeouts and hedging start from the defaults.
+     */
+    static void resetLatencyStats() {
+        latencies.clear();
+    }
+
+    /**
+     * One attempt: either executes the call directly or, once the endpoint's p90 is known,
+     * races it against a hedged copy. Each copy is cancelled if its response headers take
+     * longer than the adaptive timeout (or budgetMs, if that is less).
+     */
+    private static <T> Response<T> executeOnce(Call<T> call, String endpoint, long budgetMs) throws IOException {
+        CallGroup group = CallGroup.current();
+        if (group != null) {
+            group.register(call);
+        }
+
+        long p95 = latencies.percentile(endpoint, 95);
+        long timeoutMs = p95 < 0 ? TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS)
+                : Math.max(MIN_TIMEOUT_MS, Math.min(p95 * TIMEOUT_P95_MULTIPLIER,
+                TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS)));
+        timeoutMs = Math.max(1, Math.min(timeoutMs, budgetMs));
+
+        long hedgeAfterMs = hedgingEnabled ? latencies.percentile(endpoint, 90) : -1;
+        if (hedgeAfterMs <= 0 || hedgeAfterMs >= timeoutMs) {
+            HeaderDeadline deadline = new HeaderDeadline(call, timeoutMs);
+            long start = System.nanoTime();
+            try {
+                Response<T> response = call.execute();
+                latencies.record(endpoint, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return response;
+            } catch (IOException e) {
+                throw deadline.explain(e);
+            } finally {
+                deadline.disarm();
+            }
+        }
+
+        Race<T> race = new Race<>(endpoint);
+        race.start(call, timeoutMs);
+        Response<T> response = race.await(hedgeAfterMs);
+        if (response != null) {
+            return response;
+        }
+
+        // Slower than 90% of recent requests: send a duplicate and take whichever answers
+        // first. The duplicate gets what is left of the attempt's time.
+        Log.d(TAG, "Hedging " + endpoint + " after " + hedgeAfterMs + " ms");
+        Call<T> hedge = call.clone();
+        if (group != null) {
+            group.register(hedge);
+        }
+        race.start(hedge, timeoutMs - hedgeAfterMs);
+        return race.await(0);
+    }
+
+    /**
+     * Cancels a call whose response headers have not arrived within a timeout. Unlike
+     * OkHttp's call timeout, it stops counting once the headers are in, so reading a
+     * large body is not cut short.
+     */
+    private static class HeaderDeadline {
+        private final long timeoutMs;
+        private final ScheduledFuture<?> task;
+        private volatile boolean fired;
+
+        HeaderDeadline(Call<?> call, long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+            this.task = headerDeadlines.schedule(() -> {
+                fired = true;
+                call.cancel();
+            }, timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Called once the headers have arrived, or the call failed.
+         */
+        void disarm() {
+            task.cancel(false);
+        }
+
+        /**
+         * Turns the "Canceled" error of a call this deadline cancelled into a timeout.
+         */
+        IOException explain(IOException error) {
+            return fired ? new HeaderTimeoutException(timeoutMs, error) : error;
+        }
+    }
+
+    /**
+     * No response headers within the adaptive timeout. Retried like any I/O error.
+     */
+    private static class HeaderTimeoutException extends InterruptedIOException {
+        HeaderTimeoutException(long timeoutMs, IOException cause) {
+            super("No response headers within " + timeoutMs + " ms");
+            initCause(cause);
+        }
+    }
+
+    private static long remainingMs(long deadlineNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    private static ScheduledThreadPoolExecutor createDeadlineExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "wikiapi-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Disarmed deadlines are dropped right away instead of piling up until they expire
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Runs one or more copies of the same request and keeps the first usable response.
+     * The other copies are cancelled once there is a winner.
+     */
+    private static class Race<T> {
+        private final String endpoint;
+        private final List<Call<T>> calls = new ArrayList<>();
+        private final CompletableFuture<Response<T>> winner = new CompletableFuture<>();
+        private int pending;
+        private Response<T> retryable;
+        private IOException lastError;
+
+        Race(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void start(Call<T> call, long timeoutMs) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                calls.add(call);
+                pending++;
+            }
+            HeaderDeadline deadline = new HeaderDeadline(call, timeoutMs);
+            call.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    deadline.disarm();
+                    latencies.record(endpoint, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    onResult(call, response, null);
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    deadline.disarm();
+                    IOException error = t instanceof IOException ? (IOException) t : new IOException(t);
+                    onResult(call, null, deadline.explain(error));
+                }
+            });
+        }
+
+        private void onResult(Call<T> call, Response<T> response, IOException error) {
+            Response<T> toDiscard = null;
+            List<Call<T>> losers = new ArrayList<>();
+
+            synchronized (this) {
+                pending--;
+                if (winner.isDone()) {
+                    toDiscard = response;
+                } else if (response != null && (!isRetryable(response.code()) || pending == 0)) {
+                    toDiscard = retryable;
+                    retryable = null;
+                    winner.complete(response);
+                    for (Call<T> other : calls) {
+                        if (other != call) {
+                            losers.add(other);
+                        }
+                    }
+                } else if (response != null) {
+                    // A 5xx while another copy is still running: give that one a chance
+                    toDiscard = retryable;
+                    retryable = response;
+                } else {
+                    lastError = error;
+                    if (pending == 0) {
+                        if (retryable != null) {
+                            winner.complete(retryable);
+                            retryable = null;
+                        } else {
+                            winner.completeExceptionally(lastError);
+                        }
+                    }
+                }
+            }
+
+            discard(toDiscard);
+            for (Call<T> loser : losers) {
+                loser.cancel();
+            }
+        }
+
+        /**
+         * @param timeoutMs How long to wait, or 0 to wait until the race is decided
+         * @return The winning response, or null if none arrived within timeoutMs
+         */
+        Response<T> await(long timeoutMs) throws IOException {
+            try {
+                return timeoutMs > 0 ? winner.get(timeoutMs, TimeUnit.MILLISECONDS) : winner.get();
+            } catch (TimeoutException e) {
+                return null;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + endpoint);
+            }
+        }
+
+        private void cancelAll() {
+            List<Call<T>> toCancel;
+            synchronized (this) {
+                toCancel = new ArrayList<>(calls);
+            }
+            for (Call<T> call : toCancel) {
+                call.cancel();
+            }
+        }
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 429 || code >= 500;
+    }
+
+    /**
+     * A random time in [0, base * 2^attempt), capped at BACKOFF_MAX_MS ("full jitter"),
+     * so clients that failed together do not retry together.
+     */
+    private static long backoffDelay(int attempt) {
+        long cap = Math.min(BACKOFF_MAX_MS, BACKOFF_BASE_MS << attempt);
+        return ThreadLocalRandom.current().nextLong(cap);
+    }
+
+    private static void sleep(long delayMs) throws IOException {
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during backoff");
+        }
+    }
+
+    /**
+     * Releases the connection held by a response that will not be used.
+     */
+    private static void discard(Response<?> response) {
+        if (response == null) {
+            return;
+        }
+        try {
+            if (response.body() instanceof Closeable) {
+                ((Closeable) response.body()).close();
+            }
+            if (response.errorBody() != null) {
+                response.errorBody().close();
+            }
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * Passes a response body through, recording its size in FetchMetrics once it has
+     * been read to the end or closed.
+     */
+    private static class ByteCountingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        ByteCountingBody(ResponseBody delegate, String stage) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                private long total;
+                private boolean recorded;
+
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read == -1) {
+                        record();
+                    } else {
+                        total += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    record();
+                    super.close();
+                }
+
+                private void record() {
+                    if (!recorded) {
+                        recorded = true;
+                        FetchMetrics.recordBytes(stage, total);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+
+    private static Retrofit retrofit(String baseUrl) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+    }
+}
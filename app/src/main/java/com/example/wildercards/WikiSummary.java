@@ -0,0 +1,26 @@
+package com.example.wildercards;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Wikipedia REST page summary (/api/rest_v1/page/summary/{title}).
+ * Only the fields WikipediaFetcher reads are mapped; Gson skips the rest while streaming.
+ */
+public class WikiSummary {
+    public String title;
+    public String extract;
+
+    @SerializedName("wikibase_item")
+    public String wikibaseItem;
+
+    public Image thumbnail;
+
+    @SerializedName("originalimage")
+    public Image originalImage;
+
+    public static class Image {
+        public String source;
+        public int width;
+        public int height;
+    }
+}
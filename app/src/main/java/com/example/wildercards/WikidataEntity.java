@@ -0,0 +1,102 @@
+package com.example.wildercards;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The parts of a Wikidata entity that WikipediaFetcher actually uses:
+ * the English label and the first value of each requested claim.
+ */
+public class WikidataEntity {
+    private final String id;
+    private String label = "";
+    private String modified;
+    private final Map<String, ClaimValue> claims = new HashMap<>();
+
+    /**
+     * The main value of a single claim. Only one of text / entityId is set; for a
+     * quantity, text is the amount and unitId the unit's Q-id (null if unitless).
+     */
+    public static class ClaimValue {
+        public final String text;
+        public final String entityId;
+        public final String unitId;
+        private final boolean quantity;
+
+        private ClaimValue(String text, String entityId, String unitId, boolean quantity) {
+            this.text = text;
+            this.entityId = entityId;
+            this.unitId = unitId;
+            this.quantity = quantity;
+        }
+
+        public static ClaimValue ofText(String text) {
+            return new ClaimValue(text, null, null, false);
+        }
+
+        public static ClaimValue ofEntity(String entityId) {
+            return new ClaimValue(null, entityId, null, false);
+        }
+
+        /**
+         * @param amount Decimal amount as Wikidata writes it (e.g., "+190")
+         * @param unit Unit entity URI (e.g., "http://www.wikidata.org/entity/Q11570"), or "1"
+         */
+        public static ClaimValue ofQuantity(String amount, String unit) {
+            String text = amount.startsWith("+") ? amount.substring(1) : amount;
+            int slash = unit != null ? unit.lastIndexOf('/') : -1;
+            String unitId = slash >= 0 ? unit.substring(slash + 1) : null;
+            return new ClaimValue(text, null, unitId, true);
+        }
+
+        public boolean isEntity() {
+            return entityId != null;
+        }
+
+        public boolean isQuantity() {
+            return quantity;
+        }
+
+        /**
+         * The plain text value, or the entity ID for references.
+         */
+        public String raw() {
+            return isEntity() ? entityId : text;
+        }
+    }
+
+    public WikidataEntity(String id) {
+        this.id = id;
+    }
+
+    public String getId() { return id; }
+    public String getLabel() { return label; }
+    public String getModified() { return modified; }
+
+    public void setLabel(String label) { this.label = label; }
+    public void setModified(String modified) { this.modified = modified; }
+
+    public boolean hasClaim(String property) {
+        return claims.containsKey(property);
+    }
+
+    public ClaimValue getClaim(String property) {
+        return claims.get(property);
+    }
+
+    /**
+     * Returns the raw value of a claim, or an empty string if it is absent.
+     */
+    public String getClaimRaw(String property) {
+        ClaimValue value = claims.get(property);
+        return value != null && value.raw() != null ? value.raw() : "";
+    }
+
+    public void putClaim(String property, ClaimValue value) {
+        claims.put(property, value);
+    }
+
+    public int claimCount() {
+        return claims.size();
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.wildercards;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming parser for Wikidata entity JSON (Special:EntityData and wbgetentities).
+ *
+ * Instead of building an org.json tree of the whole document, this walks the token
+ * stream with Gson's JsonReader, keeps only the English label and the first value of
+ * each wanted claim (string, item or quantity), and skips everything else (sitelinks, descriptions, aliases,
+ * qualifiers, references). When parsing a single entity it stops as soon as the
+ * labels and claims sections have been read, so trailing sitelinks are never read.
+ *
+ * Pure Java on purpose: it has no Android dependencies.
+ */
+public class WikidataEntityParser {
+
+    private final Set<String> wantedProperties;
+
+    /**
+     * @param wantedProperties Claim properties to extract (e.g., "P225", "P141")
+     */
+    public WikidataEntityParser(Set<String> wantedProperties) {
+        this.wantedProperties = wantedProperties;
+    }
+
+    /**
+     * Parses a single entity and stops reading once it has been extracted.
+     *
+     * @param reader Response body
+     * @param entityId The entity to extract; other entities in the response are skipped
+     * @return The entity, or null if the response does not contain it
+     */
+    public WikidataEntity parse(Reader reader, String entityId) throws IOException {
+        Map<String, WikidataEntity> entities = parse(reader, entityId, true);
+        return entities.get(entityId);
+    }
+
+    /**
+     * Parses every entity in the response (e.g., a multi-id wbgetentities call).
+     *
+     * @return Map of entity ID to entity, in response order; missing entities are absent
+     */
+    public Map<String, WikidataEntity> parseAll(Reader reader) throws IOException {
+        return parse(reader, null, false);
+    }
+
+    private Map<String, WikidataEntity> parse(Reader source, String onlyId, boolean stopAfterMatch)
+            throws IOException {
+        Map<String, WikidataEntity> result = new LinkedHashMap<>();
+        JsonReader reader = new JsonReader(source);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("entities")) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (onlyId != null && !onlyId.equals(key)) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                WikidataEntity entity = readEntity(reader, key, stopAfterMatch);
+                if (entity != null) {
+                    result.put(entity.getId(), entity);
+                }
+                if (stopAfterMatch) {
+                    // Leave the rest of the stream unread
+                    return result;
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+
+        return result;
+    }
+
+    /**
+     * @param stopEarly Return as soon as both labels and claims have been read,
+     *                  without consuming the rest of the entity (sitelinks etc.)
+     */
+    private WikidataEntity readEntity(JsonReader reader, String key, boolean stopEarly) throws IOException {
+        WikidataEntity entity = new WikidataEntity(key);
+        boolean missing = false;
+        boolean labelsRead = false;
+        boolean claimsRead = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "labels":
+                    readEnglishLabel(reader, entity);
+                    labelsRead = true;
+                    break;
+                case "claims":
+                    readClaims(reader, entity);
+                    claimsRead = true;
+                    break;
+                case "modified":
+                    entity.setModified(reader.nextString()); // e.g. "2024-05-01T12:00:00Z"
+                    break;
+                case "missing":
+                    missing = true;
+                    reader.skipValue();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+            if (stopEarly && labelsRead && claimsRead) {
+                return entity;
+            }
+        }
+        reader.endObject();
+
+        return missing ? null : entity;
+    }
+
+    private void readEnglishLabel(JsonReader reader, WikidataEntity entity) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("en")) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("value")) {
+                    entity.setLabel(reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+    }
+
+    private void readClaims(JsonReader reader, WikidataEntity entity) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String property = reader.nextName();
+            if (!wantedProperties.contains(property)) {
+                reader.skipValue();
+                continue;
+            }
+
+            // Only the first statement is used, matching the old org.json code path
+            reader.beginArray();
+            boolean first = true;
+            while (reader.hasNext()) {
+                if (first) {
+                    WikidataEntity.ClaimValue value = readStatement(reader);
+                    if (value != null) {
+                        entity.putClaim(property, value);
+                    }
+                    first = false;
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+    }
+
+    private WikidataEntity.ClaimValue readStatement(JsonReader reader) throws IOException {
+        WikidataEntity.ClaimValue value = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("mainsnak")) {
+                value = readSnak(reader);
+            } else {
+                reader.skipValue(); // qualifiers, references, rank...
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    private WikidataEntity.ClaimValue readSnak(JsonReader reader) throws IOException {
+        WikidataEntity.ClaimValue value = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("datavalue")) {
+                value = readDataValue(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    private WikidataEntity.ClaimValue readDataValue(JsonReader reader) throws IOException {
+        String type = null;
+        String text = null;
+        String entityId = null;
+        String amount = null;
+        String unit = null;
+
+        // "value" usually precedes "type", so read whichever shape the value has
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("type")) {
+                type = reader.nextString();
+            } else if (name.equals("value")) {
+                if (reader.peek() == JsonToken.STRING) {
+                    text = reader.nextString();
+                } else if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String field = reader.nextName();
+                        if (field.equals("id")) {
+                            entityId = reader.nextString();
+                        } else if (field.equals("text")) {
+                            text = reader.nextString(); // monolingualtext
+                        } else if (field.equals("amount")) {
+                            amount = reader.nextString(); // quantity
+                        } else if (field.equals("unit")) {
+                            unit = reader.nextString();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                } else {
+                    reader.skipValue();
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if ("wikibase-entityid".equals(type)) {
+            return entityId != null ? WikidataEntity.ClaimValue.ofEntity(entityId) : null;
+        }
+        if ("string".equals(type) || "monolingualtext".equals(type) || "external-id".equals(type)) {
+            return text != null ? WikidataEntity.ClaimValue.ofText(text) : null;
+        }
+        if ("quantity".equals(type)) {
+            return amount != null ? WikidataEntity.ClaimValue.ofQuantity(amount, unit) : null;
+        }
+        return null;
+    }
+}
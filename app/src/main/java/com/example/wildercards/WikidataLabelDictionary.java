@@ -0,0 +1,99 @@
+package com.example.wildercards;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseArray;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Offline English labels for Wikidata entities that come up in almost every lookup:
+ * the IUCN conservation statuses behind P141 and the most common habitats.
+ *
+ * Labels are read from assets/wikidata_labels.tsv on first use and kept in a
+ * SparseArray keyed by the numeric part of the Q-id (Q211005 -> 211005).
+ */
+public class WikidataLabelDictionary {
+    private static final String TAG = "WikidataLabels";
+    private static final String ASSET_NAME = "wikidata_labels.tsv";
+
+    private static Context appContext;
+    private static volatile SparseArray<String> labels;
+
+    /**
+     * Remembers the application context so the asset can be loaded lazily.
+     */
+    public static void init(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
+    /**
+     * Looks up the bundled label for an entity ID.
+     * @param entityId Wikidata entity ID (e.g., "Q211005")
+     * @return The label, or null if the ID is not in the dictionary
+     */
+    public static String lookup(String entityId) {
+        int numericId = parseNumericId(entityId);
+        if (numericId < 0) {
+            return null;
+        }
+        SparseArray<String> dictionary = getLabels();
+        return dictionary != null ? dictionary.get(numericId) : null;
+    }
+
+    private static SparseArray<String> getLabels() {
+        SparseArray<String> result = labels;
+        if (result == null) {
+            synchronized (WikidataLabelDictionary.class) {
+                result = labels;
+                if (result == null && appContext != null) {
+                    result = load(appContext);
+                    labels = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static SparseArray<String> load(Context context) {
+        SparseArray<String> result = new SparseArray<>(64);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                context.getAssets().open(ASSET_NAME), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                if (tab <= 0) {
+                    continue;
+                }
+                try {
+                    result.put(Integer.parseInt(line.substring(0, tab)), line.substring(tab + 1).trim());
+                } catch (NumberFormatException e) {
+                    Log.w(TAG, "Skipping malformed line: " + line);
+                }
+            }
+            Log.d(TAG, "Loaded " + result.size() + " bundled labels");
+        } catch (Exception e) {
+            Log.w(TAG, "Could not load " + ASSET_NAME + ": " + e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * "Q12345" -> 12345, or -1 if the string is not a Q-id.
+     */
+    static int parseNumericId(String entityId) {
+        if (entityId == null || entityId.length() < 2 || entityId.charAt(0) != 'Q') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(entityId.substring(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
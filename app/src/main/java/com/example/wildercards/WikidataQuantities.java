@@ -0,0 +1,69 @@
+package com.example.wildercards;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Formats Wikidata quantity claims (mass, length, life expectancy, speed) for display:
+ * amount "+190" with unit Q11570 becomes "190 kg".
+ *
+ * Units that animal entities commonly use have a short symbol here. A quantity in any
+ * other unit is dropped rather than costing a label lookup.
+ */
+public class WikidataQuantities {
+    private static final Map<String, String> UNIT_SYMBOLS = new HashMap<>();
+
+    static {
+        // Mass
+        UNIT_SYMBOLS.put("Q11570", "kg");
+        UNIT_SYMBOLS.put("Q41803", "g");
+        UNIT_SYMBOLS.put("Q191118", "t");
+        UNIT_SYMBOLS.put("Q100995", "lb");
+        // Length
+        UNIT_SYMBOLS.put("Q11573", "m");
+        UNIT_SYMBOLS.put("Q174728", "cm");
+        UNIT_SYMBOLS.put("Q174789", "mm");
+        UNIT_SYMBOLS.put("Q828224", "km");
+        UNIT_SYMBOLS.put("Q3710", "ft");
+        UNIT_SYMBOLS.put("Q218593", "in");
+        // Time
+        UNIT_SYMBOLS.put("Q577", "years");
+        UNIT_SYMBOLS.put("Q5151", "months");
+        UNIT_SYMBOLS.put("Q23387", "weeks");
+        UNIT_SYMBOLS.put("Q573", "days");
+        // Speed
+        UNIT_SYMBOLS.put("Q180154", "km/h");
+        UNIT_SYMBOLS.put("Q182429", "m/s");
+        UNIT_SYMBOLS.put("Q211256", "mph");
+    }
+
+    /**
+     * Formats a quantity claim.
+     *
+     * @return e.g. "190 kg", or "" if value is absent, not a quantity or in an unknown unit
+     */
+    public static String format(WikidataEntity.ClaimValue value) {
+        if (value == null || !value.isQuantity() || value.text == null) {
+            return "";
+        }
+        String amount = formatAmount(value.text);
+        if (value.unitId == null) {
+            return amount;
+        }
+        String unit = UNIT_SYMBOLS.get(value.unitId);
+        return unit != null ? amount + " " + unit : "";
+    }
+
+    /**
+     * "190" stays "190", "0.50" becomes "0.5" and "1E+3" becomes "1000".
+     */
+    private static String formatAmount(String amount) {
+        try {
+            BigDecimal decimal = new BigDecimal(amount).stripTrailingZeros();
+            return decimal.scale() < 0 ? decimal.setScale(0).toPlainString() : decimal.toPlainString();
+        } catch (NumberFormatException e) {
+            return amount;
+        }
+    }
+}
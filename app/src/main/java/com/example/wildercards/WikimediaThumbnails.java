@@ -0,0 +1,121 @@
+package com.example.wildercards;
+
+import android.util.Log;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites upload.wikimedia.org image URLs to the thumbnail closest to the size they are
+ * displayed at, so a detail screen does not download a multi-megabyte original only for
+ * Glide to downsample it.
+ *
+ * Widths are rounded up to one of a few buckets taken from Wikimedia's standard thumbnail
+ * steps, which are the sizes its CDN already has cached.
+ */
+public class WikimediaThumbnails {
+    private static final String TAG = "WikimediaThumbnails";
+
+    private static final int[] WIDTH_BUCKETS = {120, 250, 330, 500, 960, 1280};
+
+    // https://upload.wikimedia.org/wikipedia/commons/a/ab/File.jpg
+    private static final Pattern ORIGINAL = Pattern.compile(
+            "^(https?://upload\\.wikimedia\\.org/[^/]+/[^/]+)/([0-9a-f]/[0-9a-f]{2})/([^/]+)$");
+    // https://upload.wikimedia.org/wikipedia/commons/thumb/a/ab/File.jpg/330px-File.jpg
+    private static final Pattern THUMBNAIL = Pattern.compile(
+            "^(https?://upload\\.wikimedia\\.org/[^/]+/[^/]+/thumb/[0-9a-f]/[0-9a-f]{2}/[^/]+/(?:[a-z0-9-]*-)?)(\\d+)(px-[^/]+)$");
+    // Formats whose thumbnails are named <W>px-<file> (SVG thumbnails get an extra .png)
+    private static final Pattern SCALABLE = Pattern.compile("(?i).+\\.(jpe?g|png|gif|webp|svg)$");
+
+    /**
+     * @param widthPx The width the image is displayed at
+     * @return The smallest bucket at least widthPx wide, or the largest bucket
+     */
+    public static int bucketFor(int widthPx) {
+        for (int bucket : WIDTH_BUCKETS) {
+            if (bucket >= widthPx) {
+                return bucket;
+            }
+        }
+        return WIDTH_BUCKETS[WIDTH_BUCKETS.length - 1];
+    }
+
+    /**
+     * @param maxWidth The width of the original image
+     * @return The largest bucket no wider than maxWidth, or 0 if the original is smaller
+     * than every bucket
+     */
+    public static int largestBucketWithin(int maxWidth) {
+        int result = 0;
+        for (int bucket : WIDTH_BUCKETS) {
+            if (bucket <= maxWidth) {
+                result = bucket;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns url resized for display at widthPx.
+     *
+     * An existing thumbnail URL is only ever made smaller, since its width may already be
+     * capped at the original's (Wikimedia refuses to upscale). Original URLs are rewritten
+     * to the bucket; callers should fall back to the original if that fails. URLs that
+     * are not on upload.wikimedia.org are returned unchanged.
+     */
+    public static String forWidth(String url, int widthPx) {
+        if (url == null || url.isEmpty() || widthPx <= 0) {
+            return url;
+        }
+        int bucket = bucketFor(widthPx);
+
+        Matcher thumbnail = THUMBNAIL.matcher(url);
+        if (thumbnail.matches()) {
+            int current = Integer.parseInt(thumbnail.group(2));
+            if (bucket >= current) {
+                return url;
+            }
+            return thumbnail.group(1) + bucket + thumbnail.group(3);
+        }
+
+        Matcher original = ORIGINAL.matcher(url);
+        if (original.matches() && SCALABLE.matcher(original.group(3)).matches()) {
+            return thumbnailUrl(original, bucket);
+        }
+        return url;
+    }
+
+    /**
+     * Returns the URL of the widest bucket that does not exceed the original, for storing
+     * as a species' image. Falls back to url when it cannot be resized.
+     *
+     * @param url An original (full resolution) upload.wikimedia.org URL
+     * @param originalWidth The original's width in pixels, or 0 if unknown
+     */
+    public static String capped(String url, int originalWidth) {
+        if (url == null) {
+            return null;
+        }
+        Matcher original = ORIGINAL.matcher(url);
+        if (!original.matches() || !SCALABLE.matcher(original.group(3)).matches()) {
+            return url;
+        }
+        String file = original.group(3);
+        boolean vector = file.toLowerCase(Locale.US).endsWith(".svg");
+        int width = vector ? WIDTH_BUCKETS[WIDTH_BUCKETS.length - 1] : largestBucketWithin(originalWidth);
+        if (width == 0) {
+            // Small (or unknown size) original: already cheap enough, or unsafe to resize
+            return url;
+        }
+        String result = thumbnailUrl(original, width);
+        Log.d(TAG, "Capped " + originalWidth + "px original to " + width + "px");
+        return result;
+    }
+
+    private static String thumbnailUrl(Matcher original, int width) {
+        String file = original.group(3);
+        String suffix = file.toLowerCase(Locale.US).endsWith(".svg") ? ".png" : "";
+        return original.group(1) + "/thumb/" + original.group(2) + "/" + file + "/" + width + "px-" + file + suffix;
+    }
+}
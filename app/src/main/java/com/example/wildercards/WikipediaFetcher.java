@@ -1,63 +1,685 @@
 package com.example.wildercards;
 
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkCapabilities;
 import android.util.Log;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.gson.JsonArray;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
 
 /**
  * Fetches animal information from Wikipedia and Wikidata APIs.
- * This class uses standard Android libraries (org.json, java.net) - no external dependencies needed.
+ * Requests go through the Retrofit services in WikiApi, which share one pooled OkHttpClient.
  */
 public class WikipediaFetcher {
     private static final String TAG = "WikipediaFetcher";
+    private static volatile Context appContext;
     private static final int TIMEOUT = 15000; // 15 seconds
+    private static final int MAX_IDS_PER_REQUEST = 50; // wbgetentities limit for regular clients
+    private static final String SLIM_PROPS = "info|labels|claims"; // info carries "modified" for revalidation
+
+    // Claims read from Wikidata: scientific name, habitat, endemic to, conservation status,
+    // and the card stats: mass, life expectancy, length, speed. P171 (parent taxon) is only
+    // checked for presence; the name is derived from P225 (see parentTaxonName)
+    private static final Set<String> ENTITY_PROPERTIES = new HashSet<>(
+            Arrays.asList("P225", "P2303", "P2975", "P141", "P2067", "P2250", "P2043", "P2052", "P171"));
+
+    // Slim entity mode and the bytes each mode has cost so far
+    private static volatile boolean slimEntityRequests = true;
+    private static final AtomicLong slimEntityBytes = new AtomicLong();
+    private static final AtomicLong slimEntityRequestCount = new AtomicLong();
+    private static final AtomicLong fullEntityBytes = new AtomicLong();
+    private static final AtomicLong fullEntityRequestCount = new AtomicLong();
+
+    // Speculative by-title entity lookups, run alongside the summary request
+    private static volatile boolean speculativeEntityLookup = true;
+    private static final ExecutorService speculativeExecutor = Executors.newFixedThreadPool(2);
+
+    // One network fetch per normalized name at a time
+    private static final SingleFlight<FetchResult> networkFlights = new SingleFlight<>();
+
+    // Asynchronous requests, shared per normalized name and cancelled when all callers leave
+    private static final SingleFlight<AnimalInfo> asyncFlights = new SingleFlight<>();
+
+    // Batch fetches: at most this many summary requests in flight at once
+    private static final int BATCH_CONCURRENCY = 4;
+    private static final ExecutorService batchExecutor = Executors.newFixedThreadPool(BATCH_CONCURRENCY);
+
+    // Background refreshes of stale cache entries, one at a time
+    private static final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+    private static final Set<String> refreshing = Collections.synchronizedSet(new HashSet<>());
+
+    /**
+     * Result of a network fetch. complete is false when Wikidata could not be reached
+     * and only the Wikipedia summary made it into info.
+     */
+    private static class FetchResult {
+        final AnimalInfo info;
+        final boolean complete;
+        final AnimalInfoCache.Validators validators;
+
+        FetchResult(AnimalInfo info, boolean complete) {
+            this(info, complete, null);
+        }
+
+        FetchResult(AnimalInfo info, boolean complete, AnimalInfoCache.Validators validators) {
+            this.info = info;
+            this.complete = complete;
+            this.validators = validators;
+        }
+    }
+
+    /**
+     * A summary response with its validators. notModified is set (and summary is null)
+     * when a conditional request was answered with 304.
+     */
+    private static class SummaryResult {
+        final WikiSummary summary;
+        final String etag;
+        final String lastModified;
+        final boolean notModified;
+
+        SummaryResult(WikiSummary summary, String etag, String lastModified, boolean notModified) {
+            this.summary = summary;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.notModified = notModified;
+        }
+    }
+
+    // Returned by fetchSummary when the title does not exist (HTTP 404)
+    private static final SummaryResult SUMMARY_NOT_FOUND = new SummaryResult(null, null, null, false);
+
+    /**
+     * Enables the persistent cache tier and the bundled label dictionary and species index.
+     * Call once from Application.onCreate().
+     */
+    public static void init(Context context) {
+        appContext = context.getApplicationContext();
+        AnimalInfoCache.init(context);
+        WikidataLabelDictionary.init(context);
+        OfflineSpeciesDb.init(context);
+        TitleResolver.init(context);
+    }
 
     /**
      * Fetches complete animal information including data from both Wikipedia and Wikidata.
+     * Results are cached by normalized name; a stale cached result is returned immediately
+     * and refreshed in the background. If the network cannot be reached, an expired
+     * cache entry or else the bundled OfflineSpeciesDb record is returned.
      * @param animalName The name of the animal to search for
      * @return AnimalInfo object with all data, or null if fetch fails
      */
     public static AnimalInfo fetchAnimalInfo(String animalName) {
+        long start = System.nanoTime();
+        try {
+            return fetchAnimalInfoTimed(animalName);
+        } finally {
+            FetchMetrics.recordTime("fetch.total", FetchMetrics.since(start));
+        }
+    }
+
+    private static AnimalInfo fetchAnimalInfoTimed(String animalName) {
+        String key = AnimalInfoCache.normalizeKey(animalName);
+        long start = System.nanoTime();
+        AnimalInfoCache.Entry cached = AnimalInfoCache.get(key);
+        FetchMetrics.recordTime("cache.lookup", FetchMetrics.since(start));
+
+        if (cached != null && cached.isFresh()) {
+            Log.d(TAG, "Cache hit (fresh) for: " + key);
+            FetchMetrics.increment("cache.fresh");
+            return cached.info;
+        }
+
+        if (cached != null && !cached.isExpired()) {
+            Log.d(TAG, "Cache hit (stale) for: " + key + ", refreshing in background");
+            FetchMetrics.increment("cache.stale");
+            refreshInBackground(animalName, key);
+            return cached.info;
+        }
+
+        Log.d(TAG, cached != null ? "Cache entry expired for: " + key : "Cache miss for: " + key);
+        FetchMetrics.increment(cached != null ? "cache.expired" : "cache.miss");
+        if (isOnline()) {
+            FetchResult result = fetchAndCache(animalName, key, cached);
+            if (result.info != null) {
+                return result.info;
+            }
+            FetchMetrics.increment("fetch.failed");
+        } else {
+            Log.d(TAG, "No network, skipping fetch for: " + key);
+        }
+
+        // No network data; an expired entry is still better than nothing
+        if (cached != null) {
+            return cached.info;
+        }
+        // Bundled species at least get a card without a description or photo
+        AnimalInfo offline = OfflineSpeciesDb.lookup(key);
+        if (offline != null) {
+            Log.d(TAG, "Using offline DB record for: " + key);
+            FetchMetrics.increment("cache.offline");
+        }
+        return offline;
+    }
+
+    /**
+     * @return false only if the device is known to have no validated network; true when
+     * that cannot be checked (before init, or in unit tests)
+     */
+    private static boolean isOnline() {
+        Context context = appContext;
+        if (context == null) {
+            return true;
+        }
+        try {
+            ConnectivityManager connectivity =
+                    (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+            NetworkCapabilities capabilities = connectivity != null
+                    ? connectivity.getNetworkCapabilities(connectivity.getActiveNetwork()) : null;
+            return capabilities != null
+                    && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET);
+        } catch (RuntimeException e) {
+            // Missing ACCESS_NETWORK_STATE or a broken ConnectivityManager: just try
+            return true;
+        }
+    }
+
+    /**
+     * Callback for the asynchronous API. Always invoked on the main thread.
+     */
+    public interface AnimalInfoCallback {
+        void onSuccess(AnimalInfo info);
+        void onFailure(String error);
+    }
+
+    /**
+     * Handle for an asynchronous fetch.
+     */
+    public static class FetchHandle {
+        private final SingleFlight<AnimalInfo>.Subscription subscription;
+        private Runnable onFinished;
+
+        private FetchHandle(SingleFlight<AnimalInfo>.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        /**
+         * Drops the callback. If no other caller is waiting for the same species, the
+         * outstanding HTTP calls are aborted and the worker thread is freed.
+         */
+        public void cancel() {
+            subscription.cancel();
+            finish();
+        }
+
+        public boolean isCancelled() {
+            return subscription.isCancelled();
+        }
+
+        private void finish() {
+            if (onFinished != null) {
+                onFinished.run();
+                onFinished = null;
+            }
+        }
+    }
+
+    /**
+     * Asynchronous version of {@link #fetchAnimalInfo} running on the shared I/O executor.
+     * Concurrent requests for the same species share one fetch.
+     *
+     * @return A handle that can cancel the request
+     */
+    public static FetchHandle fetchAnimalInfoAsync(String animalName, AnimalInfoCallback callback) {
+        String key = AnimalInfoCache.normalizeKey(animalName);
+        CallGroup group = new CallGroup();
+
+        SingleFlight<AnimalInfo>.Subscription subscription = asyncFlights.submit(
+                key, AppExecutors.io(), () -> group.run(() -> fetchAnimalInfo(animalName)), group::cancel);
+        FetchHandle handle = new FetchHandle(subscription);
+
+        subscription.future().whenComplete((info, error) -> AppExecutors.mainThread().execute(() -> {
+            if (handle.isCancelled()) {
+                return;
+            }
+            handle.finish();
+            if (info != null) {
+                callback.onSuccess(info);
+            } else {
+                callback.onFailure(error != null ? error.getMessage() : "No data for " + animalName);
+            }
+        }));
+        return handle;
+    }
+
+    /**
+     * Lifecycle-aware version of {@link #fetchAnimalInfoAsync(String, AnimalInfoCallback)}:
+     * the request is cancelled automatically when owner is destroyed.
+     * Must be called on the main thread.
+     */
+    public static FetchHandle fetchAnimalInfoAsync(LifecycleOwner owner, String animalName,
+                                                   AnimalInfoCallback callback) {
+        FetchHandle handle = fetchAnimalInfoAsync(animalName, callback);
+        if (handle.isCancelled() || handle.subscription.future().isDone()) {
+            return handle;
+        }
+
+        DefaultLifecycleObserver observer = new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(LifecycleOwner source) {
+                Log.d(TAG, "Owner destroyed, cancelling fetch for: " + animalName);
+                handle.cancel();
+            }
+        };
+        owner.getLifecycle().addObserver(observer);
+        handle.onFinished = () -> owner.getLifecycle().removeObserver(observer);
+        return handle;
+    }
+
+    /**
+     * Fetches several species at once, e.g., to warm the cache ahead of time.
+     * Fresh cache hits are returned directly. For the rest, the Wikipedia summaries are
+     * fetched BATCH_CONCURRENCY at a time, then the Wikidata entities and their labels
+     * are fetched with up to MAX_IDS_PER_REQUEST ids per request. Entries that can be
+     * revalidated, or that are already being fetched, go through the regular path.
+     * All results are stored in the cache.
+     *
+     * Blocks until done, so call it from a background thread.
+     *
+     * @param animalNames The animal names; names that normalize to the same key are fetched once
+     * @return Map of name to AnimalInfo, in input order; names that could not be fetched are absent
+     */
+    public static Map<String, AnimalInfo> fetchAnimalInfoBatch(List<String> animalNames) {
+        Map<String, AnimalInfo> results = new LinkedHashMap<>();
+        Map<String, String> keyToName = new LinkedHashMap<>();
+        Map<String, String> batched = new LinkedHashMap<>();
+        Map<String, Future<FetchResult>> individual = new LinkedHashMap<>();
+        CallGroup group = CallGroup.current();
+
+        Log.d(TAG, "Batch fetch for " + animalNames.size() + " names");
+
+        for (String animalName : animalNames) {
+            String key = AnimalInfoCache.normalizeKey(animalName);
+            if (key.isEmpty() || keyToName.containsKey(key)) {
+                continue;
+            }
+            keyToName.put(key, animalName);
+
+            AnimalInfoCache.Entry cached = AnimalInfoCache.get(key);
+            if (cached != null && cached.isFresh()) {
+                continue;
+            }
+            boolean canRevalidate = cached != null && cached.validators != null
+                    && cached.validators.canRevalidateSummary();
+            if (canRevalidate || networkFlights.isInFlight(key)) {
+                individual.put(key, batchExecutor.submit(() ->
+                        CallGroup.runWithin(group, () -> fetchAndCache(animalName, key, cached))));
+            } else {
+                batched.put(key, animalName);
+            }
+        }
+
+        Map<String, AnimalInfo> fetched = fetchBatchFromNetwork(batched, group);
+
+        for (Map.Entry<String, String> entry : keyToName.entrySet()) {
+            String key = entry.getKey();
+            AnimalInfo info = fetched.get(key);
+            Future<FetchResult> future = individual.get(key);
+            if (future != null) {
+                try {
+                    info = future.get().info;
+                } catch (Exception e) {
+                    Log.w(TAG, "  Batch: fetch failed for " + key + ": " + e.getMessage());
+                }
+            }
+            if (info == null) {
+                // Fresh hits, and stale entries the network could not refresh
+                AnimalInfoCache.Entry cached = AnimalInfoCache.get(key);
+                info = cached != null ? cached.info : null;
+            }
+            if (info != null) {
+                results.put(entry.getValue(), info);
+            }
+        }
+
+        Log.d(TAG, "Batch fetch done: " + results.size() + "/" + keyToName.size() + " names (" +
+                batched.size() + " batched, " + individual.size() + " individual)");
+        return results;
+    }
+
+    /**
+     * The network part of {@link #fetchAnimalInfoBatch}: summaries in parallel, then
+     * entities and labels in multi-id requests. Results are stored in the cache.
+     *
+     * @param names Normalized key to animal name
+     * @return Map of normalized key to AnimalInfo for the names that could be fetched
+     */
+    private static Map<String, AnimalInfo> fetchBatchFromNetwork(Map<String, String> names, CallGroup group) {
+        Map<String, AnimalInfo> results = new HashMap<>();
+        if (names.isEmpty()) {
+            return results;
+        }
+
+        // STEP 1: Summaries, pipelined over the batch executor
+        Map<String, Future<SummaryResult>> pending = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : names.entrySet()) {
+            String title = summaryTitle(entry.getValue());
+            pending.put(entry.getKey(), batchExecutor.submit(() ->
+                    CallGroup.runWithin(group, () -> fetchSummary(title, null, null))));
+        }
+
+        Map<String, SummaryResult> summaries = new LinkedHashMap<>();
+        Set<String> wikidataIds = new LinkedHashSet<>();
+        for (Map.Entry<String, Future<SummaryResult>> entry : pending.entrySet()) {
+            try {
+                SummaryResult summary = entry.getValue().get();
+                if (summary == null || summary.summary == null) {
+                    continue;
+                }
+                summaries.put(entry.getKey(), summary);
+                rememberRedirect(names.get(entry.getKey()), summary.summary);
+                if (isEntityId(summary.summary.wikibaseItem)) {
+                    wikidataIds.add(summary.summary.wikibaseItem);
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "  Batch: summary failed for " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        Log.d(TAG, "  Batch: " + summaries.size() + "/" + names.size() + " summaries, " +
+                wikidataIds.size() + " Wikidata IDs");
+
+        // STEP 2: Entities, MAX_IDS_PER_REQUEST per request
+        Map<String, WikidataEntity> entities = new HashMap<>();
+        List<String> ids = new ArrayList<>(wikidataIds);
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_REQUEST) {
+            List<String> batch = ids.subList(start, Math.min(start + MAX_IDS_PER_REQUEST, ids.size()));
+            Log.d(TAG, "  Batch: fetching " + batch.size() + " entities in one request");
+            entities.putAll(readEntities(WikiApi.wikidata().getEntities(
+                    String.join("|", batch), SLIM_PROPS, "en")));
+        }
+
+        // STEP 3: Labels for every referenced habitat and status, all at once
+        Set<String> labelIds = new LinkedHashSet<>();
+        for (WikidataEntity entity : entities.values()) {
+            labelIds.addAll(referencedEntityIds(entity));
+        }
+        Map<String, String> labels = fetchEntityLabels(labelIds);
+
+        // STEP 4: Build and cache
+        for (Map.Entry<String, SummaryResult> entry : summaries.entrySet()) {
+            SummaryResult summary = entry.getValue();
+            WikiSummary wikipediaData = summary.summary;
+            String title = wikipediaData.title != null ? wikipediaData.title : names.get(entry.getKey());
+            String description = wikipediaData.extract != null ? wikipediaData.extract : "No description available";
+            String imageUrl = summaryImageUrl(wikipediaData);
+            String wikidataId = wikipediaData.wikibaseItem;
+            WikidataEntity entity = wikidataId != null ? entities.get(wikidataId) : null;
+
+            AnimalInfo info;
+            boolean complete;
+            AnimalInfoCache.Validators validators = null;
+            if (entity != null) {
+                info = buildInfo(title, description, imageUrl, entity, labels);
+                complete = true;
+                validators = new AnimalInfoCache.Validators(
+                        summary.etag, summary.lastModified, wikidataId, toHttpDate(entity.getModified()));
+            } else {
+                // No Wikidata ID is a complete result; a failed entity request is not
+                info = new AnimalInfo(title, "", description, imageUrl, "", "");
+                complete = !isEntityId(wikidataId);
+                if (complete) {
+                    validators = new AnimalInfoCache.Validators(summary.etag, summary.lastModified, null, null);
+                }
+            }
+
+            AnimalInfoCache.put(entry.getKey(), info, complete, validators);
+            results.put(entry.getKey(), info);
+        }
+        return results;
+    }
+
+    /**
+     * Fetches the current conservation status (P141) of many entities at once, e.g. to
+     * refresh the statuses stored on a user's cards. The entities are fetched with up to
+     * MAX_IDS_PER_REQUEST ids per request (claims only); the status labels then come from
+     * the bundled dictionary, or one more batched request for any it does not have.
+     *
+     * Blocks until done, so call it from a background thread.
+     *
+     * @param wikidataIds The Wikidata entity IDs (e.g., "Q19939"); duplicates are fetched once
+     * @return Map of entity ID to status label; entities without a status, and those
+     *         whose request failed, are absent
+     */
+    public static Map<String, String> fetchConservationStatuses(Collection<String> wikidataIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(wikidataIds));
+        Map<String, WikidataEntity> entities = new HashMap<>();
+        CallGroup group = CallGroup.current();
+        Log.d(TAG, "Fetching conservation statuses for " + ids.size() + " entities");
+
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_REQUEST) {
+            if (group != null && group.isCancelled()) {
+                break;
+            }
+            List<String> batch = ids.subList(start, Math.min(start + MAX_IDS_PER_REQUEST, ids.size()));
+            Log.d(TAG, "  Batch: fetching " + batch.size() + " entities in one request");
+            entities.putAll(readEntities(WikiApi.wikidata().getEntities(
+                    String.join("|", batch), "claims", "en")));
+        }
+
+        Map<String, String> statusIds = new LinkedHashMap<>();
+        for (WikidataEntity entity : entities.values()) {
+            String statusValue = entity.getClaimRaw("P141");
+            if (isEntityId(statusValue)) {
+                statusIds.put(entity.getId(), statusValue);
+            }
+        }
+
+        Map<String, String> labels = fetchEntityLabels(new HashSet<>(statusIds.values()));
+        Map<String, String> statuses = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : statusIds.entrySet()) {
+            String label = labels.get(entry.getValue());
+            if (label != null && !label.isEmpty()) {
+                statuses.put(entry.getKey(), label);
+            }
+        }
+        Log.d(TAG, "  Conservation statuses: " + statuses.size() + "/" + ids.size() + " resolved");
+        return statuses;
+    }
+
+    private static void refreshInBackground(String animalName, String key) {
+        if (!refreshing.add(key)) {
+            return; // Already queued
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                // Re-read the entry: it may have been refreshed while this task was queued
+                FetchResult result = fetchAndCache(animalName, key, AnimalInfoCache.get(key));
+                if (result.info != null) {
+                    Log.d(TAG, "Background refresh done for: " + key);
+                }
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Fetches from the network and stores the result in the cache. Concurrent callers
+     * for the same normalized name share one fetch and all receive its result.
+     * If cached has validators it is revalidated with conditional requests first.
+     */
+    private static FetchResult fetchAndCache(String animalName, String key, AnimalInfoCache.Entry cached) {
+        if (networkFlights.isInFlight(key)) {
+            Log.d(TAG, "Joining in-flight fetch for: " + key);
+        }
+        try {
+            return networkFlights.run(key, () -> {
+                if (cached != null && cached.validators != null && cached.validators.canRevalidateSummary()) {
+                    return revalidate(animalName, key, cached);
+                }
+                FetchResult result = fetchFromNetwork(animalName, null);
+                if (result.info != null) {
+                    AnimalInfoCache.put(key, result.info, result.complete, result.validators);
+                }
+                return result;
+            });
+        } catch (Exception e) {
+            Log.e(TAG, "Shared fetch failed for " + key + ": " + e.getMessage());
+            return new FetchResult(null, false);
+        }
+    }
+
+    /**
+     * Revalidates a cached entry with conditional requests: If-None-Match/If-Modified-Since
+     * on the summary, then If-Modified-Since on the entity's EntityData. When both answer
+     * 304 the entry is marked fresh without downloading either payload; otherwise only
+     * the parts that changed are rebuilt.
+     */
+    private static FetchResult revalidate(String animalName, String key, AnimalInfoCache.Entry cached) {
+        AnimalInfoCache.Validators validators = cached.validators;
+        Log.d(TAG, "Revalidating cached entry for: " + key);
+
+        SummaryResult summary = fetchSummary(summaryTitle(animalName),
+                validators.summaryEtag, validators.summaryLastModified);
+        if (summary == null) {
+            return new FetchResult(null, false);
+        }
+
+        if (!summary.notModified) {
+            // The article changed; rebuild everything from the new summary
+            Log.d(TAG, "  Summary changed, rebuilding entry");
+            FetchMetrics.increment("revalidate.summary_changed");
+            FetchResult result = fetchFromNetwork(animalName, summary);
+            if (result.info != null) {
+                AnimalInfoCache.put(key, result.info, result.complete, result.validators);
+            }
+            return result;
+        }
+
+        if (validators.wikidataId == null) {
+            Log.d(TAG, "  Summary not modified (304)");
+            FetchMetrics.increment("revalidate.not_modified");
+            AnimalInfoCache.touch(key, cached);
+            return new FetchResult(cached.info, true, validators);
+        }
+
+        try {
+            Response<ResponseBody> response = WikiApi.execute(WikiApi.wikidata().getEntityData(
+                    validators.wikidataId, validators.entityLastModified));
+            Log.d(TAG, "  Entity HTTP Response code: " + response.code());
+
+            if (response.code() == 304) {
+                Log.d(TAG, "  Summary and entity not modified (304)");
+                FetchMetrics.increment("revalidate.not_modified");
+                closeQuietly(response.errorBody());
+                AnimalInfoCache.touch(key, cached);
+                return new FetchResult(cached.info, true, validators);
+            }
+
+            WikidataEntity entity = parseEntity(response, validators.wikidataId, false);
+            if (entity == null) {
+                return new FetchResult(null, false);
+            }
+
+            // Only the entity changed: keep the cached summary fields
+            Log.d(TAG, "  Entity changed, rebuilding claims");
+            FetchMetrics.increment("revalidate.entity_changed");
+            String lastModified = response.headers().get("Last-Modified");
+            AnimalInfoCache.Validators updated = new AnimalInfoCache.Validators(
+                    validators.summaryEtag, validators.summaryLastModified, validators.wikidataId,
+                    lastModified != null ? lastModified : toHttpDate(entity.getModified()));
+            AnimalInfo info = buildInfo(cached.info.getName(), cached.info.getDescription(),
+                    cached.info.getImageUrl(), entity);
+            AnimalInfoCache.put(key, info, true, updated);
+            return new FetchResult(info, true, updated);
+
+        } catch (Exception e) {
+            Log.e(TAG, "  Error revalidating entity " + validators.wikidataId + ": " + e.getMessage());
+            return new FetchResult(null, false);
+        }
+    }
+
+    /**
+     * Fetches animal information from the network, bypassing the cache.
+     * @param prefetched A summary already fetched by the caller, or null to fetch it here
+     */
+    private static FetchResult fetchFromNetwork(String animalName, SummaryResult prefetched) {
         Log.d(TAG, "========================================");
         Log.d(TAG, "Starting fetch for: " + animalName);
         Log.d(TAG, "========================================");
 
+        Future<WikidataEntity> speculativeEntity = null;
+
         try {
-            // STEP 1: Fetch Wikipedia summary
-            String formattedName = animalName.trim().replace(" ", "_");
-            String wikipediaUrl = "https://en.wikipedia.org/api/rest_v1/page/summary/" +
-                    URLEncoder.encode(formattedName, "UTF-8");
+            // STEP 0: Look the entity up by title in parallel with the summary request.
+            // If the summary's wikibase_item matches, this saves a full round trip.
+            if (speculativeEntityLookup && prefetched == null) {
+                CallGroup group = CallGroup.current();
+                speculativeEntity = speculativeExecutor.submit(
+                        () -> CallGroup.runWithin(group, () -> fetchEntityByTitle(summaryTitle(animalName))));
+            }
+
+            // STEP 1: Fetch Wikipedia summary, using the canonical title if the label is a known alias
+            String formattedName = summaryTitle(animalName);
 
             Log.d(TAG, "Step 1: Fetching Wikipedia summary");
-            Log.d(TAG, "URL: " + wikipediaUrl);
+            Log.d(TAG, "Title: " + formattedName);
 
-            JSONObject wikipediaData = fetchJsonFromUrl(wikipediaUrl);
+            SummaryResult summary = prefetched != null ? prefetched : fetchSummary(formattedName, null, null);
 
-            if (wikipediaData == null) {
-                Log.e(TAG, "Failed to fetch Wikipedia data");
-                return null;
+            if (summary == SUMMARY_NOT_FOUND) {
+                // Not an article title: search for it once and remember the answer
+                String found = searchTitle(animalName);
+                if (found != null) {
+                    TitleResolver.remember(animalName, found);
+                    summary = fetchSummary(found.replace(" ", "_"), null, null);
+                }
             }
 
-            // Extract Wikipedia data
-            String title = wikipediaData.optString("title", animalName);
-            String description = wikipediaData.optString("extract", "No description available");
-            String imageUrl = "";
-
-            if (wikipediaData.has("thumbnail")) {
-                JSONObject thumbnail = wikipediaData.getJSONObject("thumbnail");
-                imageUrl = thumbnail.optString("source", "");
+            if (summary == null || summary.summary == null) {
+                Log.e(TAG, "Failed to fetch Wikipedia data");
+                return new FetchResult(null, false);
             }
+            WikiSummary wikipediaData = summary.summary;
+            rememberRedirect(animalName, wikipediaData);
 
-            // Handle cases where there's an original image but no thumbnail
-            if (imageUrl.isEmpty() && wikipediaData.has("originalimage")) {
-                JSONObject originalImage = wikipediaData.getJSONObject("originalimage");
-                imageUrl = originalImage.optString("source", "");
-            }
+            // Extract Wikipedia data
+            String title = wikipediaData.title != null ? wikipediaData.title : animalName;
+            String description = wikipediaData.extract != null ? wikipediaData.extract : "No description available";
+            String imageUrl = summaryImageUrl(wikipediaData);
 
             Log.d(TAG, "Wikipedia data extracted:");
             Log.d(TAG, "  Title: " + title);
@@ -65,93 +687,40 @@ public class WikipediaFetcher {
             Log.d(TAG, "  Image URL: " + imageUrl);
 
             // STEP 2: Get Wikidata ID from Wikipedia response
-            String wikidataId = wikipediaData.optString("wikibase_item", null);
+            String wikidataId = wikipediaData.wikibaseItem;
 
             if (wikidataId == null || wikidataId.isEmpty()) {
                 Log.w(TAG, "No Wikidata ID found, returning basic info only");
-                return new AnimalInfo(title, "", description, imageUrl, "", "");
+                return new FetchResult(new AnimalInfo(title, "", description, imageUrl, "", ""), true,
+                        new AnimalInfoCache.Validators(summary.etag, summary.lastModified, null, null));
             }
 
             Log.d(TAG, "Step 2: Found Wikidata ID: " + wikidataId);
 
             // STEP 3: Fetch Wikidata information
-            String wikidataUrl = "https://www.wikidata.org/wiki/Special:EntityData/" +
-                    wikidataId + ".json";
-
             Log.d(TAG, "Step 3: Fetching Wikidata");
-            Log.d(TAG, "URL: " + wikidataUrl);
 
-            JSONObject wikidataResponse = fetchJsonFromUrl(wikidataUrl);
-
-            if (wikidataResponse == null) {
-                Log.w(TAG, "Failed to fetch Wikidata, returning basic info");
-                return new AnimalInfo(title, "", description, imageUrl, "", "");
+            WikidataEntity entity = reconcileSpeculativeEntity(speculativeEntity, wikidataId);
+            speculativeEntity = null;
+            if (entity == null) {
+                entity = fetchEntity(wikidataId);
             }
 
-            // STEP 4: Parse Wikidata
-            String scientificName = "";
-            String habitat = "";
-            String conservationStatus = "";
-
-            try {
-                JSONObject entities = wikidataResponse.getJSONObject("entities");
-                JSONObject entity = entities.getJSONObject(wikidataId);
-                JSONObject claims = entity.getJSONObject("claims");
-
-                Log.d(TAG, "Step 4: Parsing Wikidata claims");
-
-                // Get scientific name (P225)
-                if (claims.has("P225")) {
-                    JSONArray scientificNameArray = claims.getJSONArray("P225");
-                    if (scientificNameArray.length() > 0) {
-                        JSONObject firstClaim = scientificNameArray.getJSONObject(0);
-                        JSONObject mainsnak = firstClaim.getJSONObject("mainsnak");
-
-                        if (mainsnak.has("datavalue")) {
-                            JSONObject datavalue = mainsnak.getJSONObject("datavalue");
-                            scientificName = datavalue.optString("value", "");
-                            Log.d(TAG, "  Scientific name: " + scientificName);
-                        }
-                    }
-                }
-
-                // Get habitat (P2303 - natural habitat)
-                if (claims.has("P2303")) {
-                    habitat = extractWikidataLabel(claims.getJSONArray("P2303"), entities, "habitat");
-                    Log.d(TAG, "  Habitat: " + habitat);
-                }
-
-                // Fallback: Try P2975 (endemic to) if P2303 not found
-                if (habitat.isEmpty() && claims.has("P2975")) {
-                    habitat = extractWikidataLabel(claims.getJSONArray("P2975"), entities, "endemic to") + " (endemic)";
-                    Log.d(TAG, "  Habitat (endemic): " + habitat);
-                }
-
-                // Get conservation status (P141)
-                if (claims.has("P141")) {
-                    conservationStatus = extractWikidataLabel(claims.getJSONArray("P141"), entities, "conservation status");
-                    Log.d(TAG, "  Conservation status: " + conservationStatus);
-                }
-
-            } catch (Exception e) {
-                Log.w(TAG, "Error parsing Wikidata (continuing with partial data): " + e.getMessage());
+            if (entity == null) {
+                Log.w(TAG, "Failed to fetch Wikidata, returning basic info");
+                return new FetchResult(new AnimalInfo(title, "", description, imageUrl, "", ""), false);
             }
 
-            // STEP 5: Create and return AnimalInfo
-            AnimalInfo result = new AnimalInfo(
-                    title,
-                    scientificName.isEmpty() ? "Unknown" : scientificName,
-                    description,
-                    imageUrl,
-                    habitat.isEmpty() ? "Unknown" : habitat,
-                    conservationStatus.isEmpty() ? "Unknown" : conservationStatus
-            );
+            // STEP 4: Read the extracted claims and build the result
+            AnimalInfo result = buildInfo(title, description, imageUrl, entity);
+            AnimalInfoCache.Validators validators = new AnimalInfoCache.Validators(
+                    summary.etag, summary.lastModified, wikidataId, toHttpDate(entity.getModified()));
 
             Log.d(TAG, "========================================");
             Log.d(TAG, "Fetch completed successfully!");
             Log.d(TAG, "========================================");
 
-            return result;
+            return new FetchResult(result, true, validators);
 
         } catch (Exception e) {
             Log.e(TAG, "========================================");
@@ -160,162 +729,547 @@ public class WikipediaFetcher {
             Log.e(TAG, "Message: " + e.getMessage());
             Log.e(TAG, "========================================");
             e.printStackTrace();
-            return null;
+            return new FetchResult(null, false);
+
+        } finally {
+            // Summary failed or had no Wikidata ID: the speculative lookup is not needed
+            if (speculativeEntity != null) {
+                speculativeEntity.cancel(true);
+            }
         }
     }
 
     /**
-     * Fetches JSON data from a URL using HttpURLConnection.
-     * @param urlString The URL to fetch from
-     * @return JSONObject containing the response, or null if fetch fails
+     * Builds the AnimalInfo for a summary and its Wikidata entity, resolving the
+     * habitat and conservation status references to labels.
+     */
+    private static AnimalInfo buildInfo(String title, String description, String imageUrl,
+                                        WikidataEntity entity) {
+        return buildInfo(title, description, imageUrl, entity, fetchEntityLabels(referencedEntityIds(entity)));
+    }
+
+    /**
+     * Same as above, with the labels already resolved (e.g., for a whole batch at once).
+     * @param labels Entity ID to label; must cover {@link #referencedEntityIds} of entity
      */
-    private static JSONObject fetchJsonFromUrl(String urlString) {
-        HttpURLConnection connection = null;
-        BufferedReader reader = null;
+    private static AnimalInfo buildInfo(String title, String description, String imageUrl,
+                                        WikidataEntity entity, Map<String, String> labels) {
+        String scientificName = "";
+        String habitat = "";
+        String conservationStatus = "";
 
         try {
-            URL url = new URL(urlString);
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(TIMEOUT);
-            connection.setReadTimeout(TIMEOUT);
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setRequestProperty("User-Agent", "WildercardsApp/1.0");
-
-            int responseCode = connection.getResponseCode();
-            Log.d(TAG, "  HTTP Response code: " + responseCode);
-
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                Log.e(TAG, "  HTTP error: " + responseCode);
-                return null;
+            Log.d(TAG, "Step 4: Reading Wikidata claims (" + entity.claimCount() + " found)");
+
+            // Get scientific name (P225)
+            scientificName = entity.getClaimRaw("P225");
+            if (!scientificName.isEmpty()) {
+                Log.d(TAG, "  Scientific name: " + scientificName);
             }
 
-            // Read response
-            reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
+            // P2303 - natural habitat, P2975 - endemic to (fallback), P141 - conservation status
+            String habitatValue = entity.getClaimRaw("P2303");
+            String endemicValue = habitatValue.isEmpty() ? entity.getClaimRaw("P2975") : "";
+            String statusValue = entity.getClaimRaw("P141");
+
+            if (!habitatValue.isEmpty()) {
+                habitat = resolveLabel(habitatValue, labels);
+                Log.d(TAG, "  Habitat: " + habitat);
+            } else if (!endemicValue.isEmpty()) {
+                habitat = resolveLabel(endemicValue, labels) + " (endemic)";
+                Log.d(TAG, "  Habitat (endemic): " + habitat);
+            }
 
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
+            if (!statusValue.isEmpty()) {
+                conservationStatus = resolveLabel(statusValue, labels);
+                Log.d(TAG, "  Conservation status: " + conservationStatus);
             }
 
-            String jsonString = response.toString();
-            Log.d(TAG, "  Response received: " + jsonString.length() + " bytes");
+        } catch (Exception e) {
+            Log.w(TAG, "Error reading Wikidata (continuing with partial data): " + e.getMessage());
+        }
+
+        AnimalInfo info = new AnimalInfo(
+                title,
+                scientificName.isEmpty() ? "Unknown" : scientificName,
+                description,
+                imageUrl,
+                habitat.isEmpty() ? "Unknown" : habitat,
+                conservationStatus.isEmpty() ? "Unknown" : conservationStatus
+        );
+        info.setWikidataId(entity.getId());
+        readStats(entity, info);
+        return info;
+    }
+
+    /**
+     * Fills in the card stats from claims already in entity, without any extra requests.
+     * Absent stats stay "".
+     */
+    private static void readStats(WikidataEntity entity, AnimalInfo info) {
+        try {
+            // P2067 - mass, P2250 - life expectancy, P2043 - length, P2052 - speed
+            info.setMass(WikidataQuantities.format(entity.getClaim("P2067")));
+            info.setLifespan(WikidataQuantities.format(entity.getClaim("P2250")));
+            info.setLength(WikidataQuantities.format(entity.getClaim("P2043")));
+            info.setSpeed(WikidataQuantities.format(entity.getClaim("P2052")));
 
-            return new JSONObject(jsonString);
+            // P171 - parent taxon. Its label would cost a request, but for a species or
+            // subspecies it is the scientific name minus its last part (the genus of
+            // "Panthera tigris", the species of "Panthera tigris tigris").
+            info.setParentTaxon(parentTaxonName(entity));
 
+            Log.d(TAG, "  Stats: mass=" + info.getMass() + ", lifespan=" + info.getLifespan() +
+                    ", length=" + info.getLength() + ", speed=" + info.getSpeed() +
+                    ", parent taxon=" + info.getParentTaxon());
         } catch (Exception e) {
-            Log.e(TAG, "  Error fetching from URL: " + urlString);
-            Log.e(TAG, "  Error: " + e.getMessage());
-            return null;
+            Log.w(TAG, "Error reading stats (continuing without them): " + e.getMessage());
+        }
+    }
 
-        } finally {
-            // Clean up resources
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (Exception e) {
-                    Log.w(TAG, "Error closing reader: " + e.getMessage());
-                }
+    /**
+     * Returns the image URL to store for a summary, or "" if the page has no image.
+     *
+     * The widest thumbnail bucket the original allows is preferred, so screens can later
+     * pick any smaller bucket (WikimediaThumbnails.forWidth) without risking an upscale.
+     * Otherwise this is the summary's thumbnail, or the original image if there is none.
+     */
+    private static String summaryImageUrl(WikiSummary wikipediaData) {
+        if (wikipediaData.originalImage != null && wikipediaData.originalImage.source != null) {
+            String capped = WikimediaThumbnails.capped(wikipediaData.originalImage.source,
+                    wikipediaData.originalImage.width);
+            if (!capped.equals(wikipediaData.originalImage.source)) {
+                return capped;
             }
-            if (connection != null) {
-                connection.disconnect();
+        }
+        if (wikipediaData.thumbnail != null && wikipediaData.thumbnail.source != null) {
+            return wikipediaData.thumbnail.source;
+        }
+        // Handle cases where there's an original image but no thumbnail
+        if (wikipediaData.originalImage != null && wikipediaData.originalImage.source != null) {
+            return wikipediaData.originalImage.source;
+        }
+        return "";
+    }
+
+    /**
+     * Returns the parent taxon's scientific name, derived from the entity's own, or ""
+     * if the entity has no parent taxon or its name is a single word (a genus or above).
+     */
+    private static String parentTaxonName(WikidataEntity entity) {
+        String scientificName = entity.getClaimRaw("P225").trim();
+        int lastSpace = scientificName.lastIndexOf(' ');
+        if (!entity.hasClaim("P171") || lastSpace < 0) {
+            return "";
+        }
+        return scientificName.substring(0, lastSpace);
+    }
+
+    /**
+     * Returns the Q-ids among the habitat, endemic and status claims of entity, which
+     * need to be resolved to labels (in a single batched request).
+     */
+    private static Set<String> referencedEntityIds(WikidataEntity entity) {
+        String habitatValue = entity.getClaimRaw("P2303");
+        String endemicValue = habitatValue.isEmpty() ? entity.getClaimRaw("P2975") : "";
+        String statusValue = entity.getClaimRaw("P141");
+
+        Set<String> entityIds = new LinkedHashSet<>();
+        for (String value : new String[]{habitatValue, endemicValue, statusValue}) {
+            if (isEntityId(value)) {
+                entityIds.add(value);
             }
         }
+        return entityIds;
     }
 
     /**
-     * Extracts a human-readable label from a Wikidata claim array.
-     * Wikidata stores references as entity IDs (like Q12345), this method resolves them to labels.
+     * Waits for the speculative by-title lookup and keeps it only if it resolved to the
+     * same entity as the summary's wikibase_item. A mismatch usually means the title was
+     * a redirect or disambiguation that the REST endpoint followed differently.
      *
-     * @param claimArray The JSONArray of claims
-     * @param entities The entities object from the Wikidata response (for lookups)
-     * @param fieldName Name of the field being extracted (for logging)
-     * @return Human-readable label, or empty string if not found
+     * @return The speculative entity, or null if the caller should fetch by ID
+     */
+    private static WikidataEntity reconcileSpeculativeEntity(Future<WikidataEntity> speculativeEntity,
+                                                            String wikidataId) {
+        if (speculativeEntity == null) {
+            return null;
+        }
+
+        try {
+            WikidataEntity entity = speculativeEntity.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            if (entity != null && wikidataId.equals(entity.getId())) {
+                Log.d(TAG, "  Speculative lookup matched " + wikidataId + ", skipping entity request");
+                return entity;
+            }
+            Log.d(TAG, "  Speculative lookup mismatch (got " +
+                    (entity != null ? entity.getId() : "nothing") + "), fetching " + wikidataId);
+        } catch (Exception e) {
+            speculativeEntity.cancel(true);
+            Log.w(TAG, "  Speculative lookup failed: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Looks a Wikidata entity up by its English Wikipedia title (sites=enwiki&titles=...).
+     * Same slim props as {@link #fetchEntity}, so the result can be used directly.
+     */
+    private static WikidataEntity fetchEntityByTitle(String title) {
+        Log.d(TAG, "Speculative lookup by title: " + title);
+        return readEntity(WikiApi.wikidata().getEntitiesByTitle(
+                "enwiki", title, SLIM_PROPS, "en"), null, true);
+    }
+
+    /**
+     * The summary endpoint title for an animal name: the canonical title from
+     * TitleResolver if the name is a known alias, with underscores for spaces.
+     */
+    private static String summaryTitle(String animalName) {
+        String resolved = TitleResolver.resolve(animalName);
+        return (resolved != null ? resolved : animalName.trim()).replace(" ", "_");
+    }
+
+    /**
+     * Remembers the canonical title if the summary request was redirected (e.g.,
+     * "Bengal tigers" -> "Bengal tiger"), so the next fetch asks for it directly.
+     */
+    private static void rememberRedirect(String animalName, WikiSummary summary) {
+        if (summary.title == null) {
+            return;
+        }
+        String requested = AnimalInfoCache.normalizeKey(summaryTitle(animalName).replace("_", " "));
+        if (!requested.equals(AnimalInfoCache.normalizeKey(summary.title))) {
+            TitleResolver.remember(animalName, summary.title);
+        }
+    }
+
+    /**
+     * Finds the closest article title for a label with Wikipedia's opensearch.
+     * @return The title, or null if nothing matched or the request failed
      */
-    private static String extractWikidataLabel(JSONArray claimArray, JSONObject entities, String fieldName) {
+    private static String searchTitle(String label) {
+        Log.d(TAG, "Searching for a title matching: " + label);
         try {
-            if (claimArray.length() == 0) {
-                return "";
+            long start = System.nanoTime();
+            Response<JsonArray> response = WikiApi.execute(WikiApi.wikipedia().searchTitles(label.trim()));
+            FetchMetrics.recordTime("title.search", FetchMetrics.since(start));
+            JsonArray body = response.body();
+            // [query, [titles], [descriptions], [urls]]
+            if (!response.isSuccessful() || body == null || body.size() < 2 || body.get(1).getAsJsonArray().size() == 0) {
+                Log.w(TAG, "  No title found for: " + label);
+                return null;
             }
+            String title = body.get(1).getAsJsonArray().get(0).getAsString();
+            Log.d(TAG, "  Search matched: " + title);
+            return title;
+        } catch (Exception e) {
+            Log.e(TAG, "  Error searching for " + label + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Enables or disables the speculative by-title Wikidata lookup (on by default).
+     */
+    public static void setSpeculativeEntityLookup(boolean enabled) {
+        speculativeEntityLookup = enabled;
+    }
 
-            JSONObject firstClaim = claimArray.getJSONObject(0);
-            JSONObject mainsnak = firstClaim.getJSONObject("mainsnak");
+    /**
+     * Fetches the REST page summary for a title through the shared Retrofit client.
+     * With an etag or lastModified the request is conditional and may come back as 304.
+     * @param title Page title with underscores instead of spaces
+     * @param etag ETag of the cached summary, or null
+     * @param lastModified Last-Modified of the cached summary, or null
+     * @return The summary and its validators, or null if fetch fails
+     */
+    private static SummaryResult fetchSummary(String title, String etag, String lastModified) {
+        try {
+            Call<WikiSummary> call = etag != null || lastModified != null
+                    ? WikiApi.wikipedia().getSummary(title, etag, lastModified)
+                    : WikiApi.wikipedia().getSummary(title);
+            long start = System.nanoTime();
+            Response<WikiSummary> response = WikiApi.execute(call);
+            FetchMetrics.recordTime("summary", FetchMetrics.since(start));
+            Log.d(TAG, "  HTTP Response code: " + response.code());
 
-            if (!mainsnak.has("datavalue")) {
-                return "";
+            if (response.code() == 304) {
+                closeQuietly(response.errorBody());
+                return new SummaryResult(null, etag, lastModified, true);
+            }
+            if (response.code() == 404) {
+                Log.w(TAG, "  No article titled: " + title);
+                closeQuietly(response.errorBody());
+                return SUMMARY_NOT_FOUND;
             }
+            if (!response.isSuccessful() || response.body() == null) {
+                Log.e(TAG, "  HTTP error: " + response.code());
+                closeQuietly(response.errorBody());
+                return null;
+            }
+            return new SummaryResult(response.body(), response.headers().get("ETag"),
+                    response.headers().get("Last-Modified"), false);
+
+        } catch (Exception e) {
+            Log.e(TAG, "  Error fetching summary for: " + title);
+            Log.e(TAG, "  Error: " + e.getMessage());
+            return null;
+        }
+    }
 
-            JSONObject datavalue = mainsnak.getJSONObject("datavalue");
+    /**
+     * Fetches a Wikidata entity, using the slim wbgetentities request when enabled and
+     * falling back to the full Special:EntityData document if that fails.
+     *
+     * @param wikidataId The entity ID (e.g., "Q19939")
+     * @return The extracted entity, or null if both requests fail
+     */
+    private static WikidataEntity fetchEntity(String wikidataId) {
+        if (slimEntityRequests) {
+            // wbgetentities cannot filter claims by property, but props/languages drop
+            // sitelinks, descriptions, aliases and every non-English label
+            Log.d(TAG, "Slim wbgetentities request for " + wikidataId);
 
-            // Check if it's a string value (direct text)
-            if (datavalue.getString("type").equals("string")) {
-                return datavalue.optString("value", "");
+            WikidataEntity entity = readEntity(
+                    WikiApi.wikidata().getEntities(wikidataId, SLIM_PROPS, "en"), wikidataId, true);
+            if (entity != null) {
+                return entity;
             }
+            Log.w(TAG, "Slim Wikidata request failed, falling back to full EntityData");
+        }
 
-            // Check if it's a wikibase-entityid (reference to another entity)
-            if (datavalue.getString("type").equals("wikibase-entityid")) {
-                JSONObject value = datavalue.getJSONObject("value");
-                String entityId = value.optString("id", "");
+        Log.d(TAG, "Full EntityData request for " + wikidataId);
+        return readEntity(WikiApi.wikidata().getEntityData(wikidataId), wikidataId, false);
+    }
 
-                if (entityId.isEmpty()) {
-                    return "";
-                }
+    /**
+     * Enables or disables the slim Wikidata request mode (on by default).
+     */
+    public static void setSlimEntityRequests(boolean enabled) {
+        slimEntityRequests = enabled;
+    }
 
-                // Try to fetch the label for this entity ID
-                String label = fetchEntityLabel(entityId);
+    /**
+     * Returns the bytes read so far for slim and full entity responses, for comparing
+     * the two modes.
+     */
+    public static String getEntityByteStats() {
+        return "slim: " + slimEntityBytes.get() + " bytes / " + slimEntityRequestCount.get() + " requests, " +
+                "full: " + fullEntityBytes.get() + " bytes / " + fullEntityRequestCount.get() + " requests";
+    }
 
-                if (!label.isEmpty()) {
-                    return label;
-                }
+    /**
+     * Streams a Wikidata entity response through WikidataEntityParser instead of
+     * buffering it into a String and an org.json tree. Reading stops as soon as the
+     * requested entity has been extracted, so trailing sitelinks are never downloaded.
+     *
+     * @param call The entity request
+     * @param entityId The entity to extract (e.g., "Q19939"), or null to take the first
+     *                 entity in the response (title lookups)
+     * @param slim Whether this is a slim wbgetentities request (for byte accounting)
+     * @return The extracted entity, or null if fetch or parsing fails
+     */
+    private static WikidataEntity readEntity(Call<ResponseBody> call, String entityId, boolean slim) {
+        try {
+            long start = System.nanoTime();
+            Response<ResponseBody> response = WikiApi.execute(call);
+            FetchMetrics.recordTime(slim ? "entity.request.slim" : "entity.request.full", FetchMetrics.since(start));
+            Log.d(TAG, "  HTTP Response code: " + response.code());
+            return parseEntity(response, entityId, slim);
+
+        } catch (Exception e) {
+            Log.e(TAG, "  Error fetching entity: " + call.request().url());
+            Log.e(TAG, "  Error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fetches a multi-id wbgetentities request and extracts every entity in it.
+     * @return Map of entity ID to entity; empty if the request fails
+     */
+    private static Map<String, WikidataEntity> readEntities(Call<ResponseBody> call) {
+        try {
+            Response<ResponseBody> response = WikiApi.execute(call);
+            Log.d(TAG, "  HTTP Response code: " + response.code());
+            if (!response.isSuccessful() || response.body() == null) {
+                Log.e(TAG, "  HTTP error: " + response.code());
+                closeQuietly(response.errorBody());
+                return Collections.emptyMap();
+            }
 
-                // Fallback: return the entity ID
-                return entityId;
+            CountingInputStream counter = new CountingInputStream(response.body().byteStream());
+            long start = System.nanoTime();
+            try (Reader reader = new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8))) {
+                return new WikidataEntityParser(ENTITY_PROPERTIES).parseAll(reader);
+            } finally {
+                FetchMetrics.recordTime("entity.parse.batch", FetchMetrics.since(start));
+                FetchMetrics.recordBytes("entity.batch", counter.getCount());
+                slimEntityBytes.addAndGet(counter.getCount());
+                slimEntityRequestCount.incrementAndGet();
+                Log.d(TAG, "  Entity bytes read (batch): " + counter.getCount());
             }
 
         } catch (Exception e) {
-            Log.w(TAG, "  Error extracting " + fieldName + ": " + e.getMessage());
+            Log.e(TAG, "  Error fetching entities: " + call.request().url());
+            Log.e(TAG, "  Error: " + e.getMessage());
+            return Collections.emptyMap();
         }
+    }
 
-        return "";
+    /**
+     * Parses an executed entity response; see {@link #readEntity}.
+     * @return The extracted entity, or null on an HTTP error or if the entity is absent
+     */
+    private static WikidataEntity parseEntity(Response<ResponseBody> response, String entityId,
+                                              boolean slim) throws Exception {
+        if (!response.isSuccessful() || response.body() == null) {
+            Log.e(TAG, "  HTTP error: " + response.code());
+            closeQuietly(response.errorBody());
+            return null;
+        }
+
+        CountingInputStream counter = new CountingInputStream(response.body().byteStream());
+        long start = System.nanoTime();
+        // Closing the reader closes the body, releasing the connection back to the pool
+        try (Reader reader = new BufferedReader(new InputStreamReader(counter, StandardCharsets.UTF_8))) {
+            WikidataEntityParser parser = new WikidataEntityParser(ENTITY_PROPERTIES);
+            WikidataEntity entity;
+            if (entityId != null) {
+                entity = parser.parse(reader, entityId);
+            } else {
+                Iterator<WikidataEntity> entities = parser.parseAll(reader).values().iterator();
+                entity = entities.hasNext() ? entities.next() : null;
+            }
+            Log.d(TAG, "  Entity parsed: " + (entity != null ? entity.claimCount() + " claims" : "not found"));
+            return entity;
+        } finally {
+            long bytes = counter.getCount();
+            // Parse time includes streaming the body, which is read as it is parsed
+            FetchMetrics.recordTime(slim ? "entity.parse.slim" : "entity.parse.full", FetchMetrics.since(start));
+            FetchMetrics.recordBytes(slim ? "entity.slim" : "entity.full", bytes);
+            if (slim) {
+                slimEntityBytes.addAndGet(bytes);
+                slimEntityRequestCount.incrementAndGet();
+            } else {
+                fullEntityBytes.addAndGet(bytes);
+                fullEntityRequestCount.incrementAndGet();
+            }
+            Log.d(TAG, "  Entity bytes read (" + (slim ? "slim" : "full") + "): " + bytes);
+            Log.d(TAG, "  Totals: " + getEntityByteStats());
+        }
+    }
+
+    /**
+     * Converts Wikidata's "modified" timestamp (e.g., "2024-05-01T12:00:00Z") into the
+     * HTTP date format used by If-Modified-Since.
+     * @return The HTTP date, or null if modified is missing or malformed
+     */
+    private static String toHttpDate(String modified) {
+        if (modified == null || modified.isEmpty()) {
+            return null;
+        }
+        try {
+            SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+            iso.setTimeZone(TimeZone.getTimeZone("UTC"));
+            Date date = iso.parse(modified);
+
+            SimpleDateFormat http = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+            http.setTimeZone(TimeZone.getTimeZone("GMT"));
+            return http.format(date);
+        } catch (Exception e) {
+            Log.w(TAG, "Unparseable entity timestamp: " + modified);
+            return null;
+        }
+    }
+
+    private static void closeQuietly(ResponseBody body) {
+        if (body != null) {
+            body.close();
+        }
+    }
+
+    private static boolean isEntityId(String value) {
+        return value != null && value.matches("Q\\d+");
+    }
+
+    /**
+     * Returns the label for an entity ID, falling back to the ID itself.
+     * Plain string values are returned unchanged.
+     */
+    private static String resolveLabel(String value, Map<String, String> labels) {
+        String label = labels.get(value);
+        return label != null && !label.isEmpty() ? label : value;
     }
 
     /**
-     * Fetches the English label for a Wikidata entity ID.
-     * Makes a separate API call to get human-readable text.
+     * Fetches the English labels for a set of Wikidata entity IDs.
+     * IDs found in the bundled WikidataLabelDictionary are resolved offline; the rest
+     * are sent in batches of up to MAX_IDS_PER_REQUEST per wbgetentities call.
      *
-     * @param entityId The Wikidata entity ID (e.g., "Q12345")
-     * @return The English label, or empty string if not found
+     * @param entityIds The Wikidata entity IDs (e.g., "Q12345")
+     * @return Map of entity ID to English label; IDs that could not be resolved are absent
      */
-    private static String fetchEntityLabel(String entityId) {
+    private static Map<String, String> fetchEntityLabels(Collection<String> entityIds) {
+        long start = System.nanoTime();
         try {
-            String labelUrl = "https://www.wikidata.org/w/api.php?action=wbgetentities&ids=" +
-                    entityId + "&props=labels&languages=en&format=json";
+            return fetchEntityLabelsTimed(entityIds);
+        } finally {
+            FetchMetrics.recordTime("labels", FetchMetrics.since(start));
+        }
+    }
 
-            JSONObject response = fetchJsonFromUrl(labelUrl);
+    private static Map<String, String> fetchEntityLabelsTimed(Collection<String> entityIds) {
+        Map<String, String> labels = new HashMap<>();
+        List<String> ids = new ArrayList<>();
 
-            if (response == null) {
-                return "";
+        for (String entityId : entityIds) {
+            String bundled = WikidataLabelDictionary.lookup(entityId);
+            if (bundled != null) {
+                Log.d(TAG, "    Resolved " + entityId + " to: " + bundled + " (bundled)");
+                FetchMetrics.increment("labels.bundled");
+                labels.put(entityId, bundled);
+            } else {
+                FetchMetrics.increment("labels.fetched");
+                ids.add(entityId);
             }
+        }
 
-            JSONObject entities = response.getJSONObject("entities");
-            JSONObject entity = entities.getJSONObject(entityId);
+        if (ids.isEmpty()) {
+            return labels;
+        }
+
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_REQUEST) {
+            List<String> batch = ids.subList(start, Math.min(start + MAX_IDS_PER_REQUEST, ids.size()));
+            Log.d(TAG, "  Resolving " + batch.size() + " labels in one request");
+            Call<ResponseBody> call = WikiApi.wikidata().getEntities(String.join("|", batch), "labels", "en");
 
-            if (entity.has("labels")) {
-                JSONObject labels = entity.getJSONObject("labels");
-                if (labels.has("en")) {
-                    JSONObject enLabel = labels.getJSONObject("en");
-                    String label = enLabel.optString("value", "");
-                    Log.d(TAG, "    Resolved " + entityId + " to: " + label);
-                    return label;
+            try {
+                Response<ResponseBody> response = WikiApi.execute(call);
+                if (!response.isSuccessful() || response.body() == null) {
+                    Log.e(TAG, "  HTTP error: " + response.code());
+                    closeQuietly(response.errorBody());
+                    continue;
                 }
-            }
 
-        } catch (Exception e) {
-            Log.w(TAG, "    Error fetching label for " + entityId + ": " + e.getMessage());
+                Map<String, WikidataEntity> entities;
+                try (Reader reader = response.body().charStream()) {
+                    entities = new WikidataEntityParser(Collections.emptySet()).parseAll(reader);
+                }
+                for (WikidataEntity entity : entities.values()) {
+                    if (!entity.getLabel().isEmpty()) {
+                        Log.d(TAG, "    Resolved " + entity.getId() + " to: " + entity.getLabel());
+                        labels.put(entity.getId(), entity.getLabel());
+                    }
+                }
+
+            } catch (Exception e) {
+                Log.w(TAG, "    Error fetching labels for " + batch + ": " + e.getMessage());
+            }
         }
 
-        return "";
+        return labels;
     }
 
     /**
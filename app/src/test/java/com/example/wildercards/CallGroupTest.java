@@ -0,0 +1,140 @@
+package com.example.wildercards;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * Binding and cancellation of CallGroup.
+ */
+public class CallGroupTest {
+
+    @Test
+    public void cancelCancelsRegisteredCalls() throws Exception {
+        CallGroup group = new CallGroup();
+        FakeCall first = new FakeCall();
+        FakeCall second = new FakeCall();
+        group.register(first);
+        group.register(second);
+
+        group.cancel();
+
+        assertTrue(group.isCancelled());
+        assertTrue(first.isCanceled());
+        assertTrue(second.isCanceled());
+    }
+
+    @Test
+    public void callRegisteredAfterCancelIsCancelledAndFails() throws Exception {
+        CallGroup group = new CallGroup();
+        group.cancel();
+        FakeCall call = new FakeCall();
+
+        try {
+            group.register(call);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            assertTrue(call.isCanceled());
+        }
+    }
+
+    @Test
+    public void runBindsTheGroupAndRestoresThePreviousOne() throws Exception {
+        CallGroup outer = new CallGroup();
+        CallGroup inner = new CallGroup();
+        assertNull(CallGroup.current());
+
+        outer.run(() -> {
+            assertSame(outer, CallGroup.current());
+            inner.run(() -> {
+                assertSame(inner, CallGroup.current());
+                return null;
+            });
+            assertSame(outer, CallGroup.current());
+            return null;
+        });
+        assertNull(CallGroup.current());
+    }
+
+    @Test
+    public void bindingIsRestoredWhenWorkThrows() {
+        CallGroup group = new CallGroup();
+        try {
+            group.run(() -> {
+                throw new IOException("boom");
+            });
+            fail("Expected IOException");
+        } catch (Exception expected) {
+            assertTrue(expected instanceof IOException);
+        }
+        assertNull(CallGroup.current());
+    }
+
+    @Test
+    public void groupsAreIndependent() throws Exception {
+        CallGroup cancelled = new CallGroup();
+        CallGroup live = new CallGroup();
+        FakeCall call = new FakeCall();
+        live.register(call);
+
+        cancelled.cancel();
+
+        assertFalse(live.isCancelled());
+        assertFalse(call.isCanceled());
+    }
+
+    /**
+     * A Call that only records cancellation.
+     */
+    private static class FakeCall implements Call<String> {
+        private volatile boolean canceled;
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<String> clone() {
+            return new FakeCall();
+        }
+
+        @Override
+        public Request request() {
+            return new Request.Builder().url("https://example.org/").build();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.wildercards;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Records real responses for the replay corpus. Runs every lookup through
+ * WikipediaFetcher against a local proxy that forwards each request to
+ * en.wikipedia.org or www.wikidata.org and saves the answer, so the recording holds
+ * exactly the requests the fetcher makes. Needs network access; run it by hand
+ * (e.g., from the IDE) with the output directory as the argument, then replay with
+ * -Preplay.fixtures=&lt;dir&gt;. Re-record after changing which requests the fetcher makes.
+ */
+public class FixtureRecorder {
+    private static final String USER_AGENT = "WildercardsApp/1.0 (replay fixture recorder)";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: FixtureRecorder <output dir>");
+            System.exit(2);
+        }
+        RecordedFixtures fixtures = new RecordedFixtures(new File(args[0]));
+        ReplayCorpus corpus = ReplayCorpus.load();
+        OkHttpClient upstream = new OkHttpClient.Builder()
+                .followRedirects(false)
+                .callTimeout(30, TimeUnit.SECONDS)
+                .build();
+
+        try (MockWebServer proxy = new MockWebServer()) {
+            proxy.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    try {
+                        return forward(upstream, fixtures, request.getUrl());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            proxy.start();
+            String baseUrl = proxy.url("/").toString();
+            WikiApi.setBaseUrls(baseUrl, baseUrl);
+            // Duplicates would only be recorded twice
+            WikiApi.setHedgingEnabled(false);
+
+            int recorded = 0;
+            for (ReplayCorpus.Species species : corpus.species()) {
+                AnimalInfo info = WikipediaFetcher.fetchAnimalInfo(species.label);
+                System.out.println((info != null ? "ok      " : "FAILED  ") + species.label);
+                if (info != null) {
+                    recorded++;
+                }
+            }
+            System.out.println("Recorded " + recorded + "/" + corpus.species().size() + " species to " + args[0]);
+        } finally {
+            WikiApi.setBaseUrls(WikiApi.WIKIPEDIA_BASE_URL, WikiApi.WIKIDATA_BASE_URL);
+        }
+        System.exit(0);
+    }
+
+    private static MockResponse forward(OkHttpClient upstream, RecordedFixtures fixtures, HttpUrl local)
+            throws IOException {
+        // wbgetentities and EntityData are Wikidata; the summary and opensearch are Wikipedia
+        boolean wikidata = local.encodedPath().startsWith("/wiki/Special:EntityData/")
+                || "wbgetentities".equals(local.queryParameter("action"));
+        HttpUrl real = HttpUrl.get(wikidata ? WikiApi.WIKIDATA_BASE_URL : WikiApi.WIKIPEDIA_BASE_URL)
+                .newBuilder()
+                .encodedPath(local.encodedPath())
+                .encodedQuery(local.encodedQuery())
+                .build();
+
+        Request request = new Request.Builder().url(real).header("User-Agent", USER_AGENT).build();
+        try (Response response = upstream.newCall(request).execute()) {
+            ReplayDispatcher.Fixture fixture = new ReplayDispatcher.Fixture(
+                    response.code(), response.headers(), response.body().bytes());
+            fixtures.save(local, fixture);
+
+            MockResponse.Builder reply = new MockResponse.Builder()
+                    .code(fixture.code)
+                    .body(new okio.Buffer().write(fixture.body));
+            for (String name : new String[]{"Content-Type", "ETag", "Last-Modified", "Location"}) {
+                String value = response.header(name);
+                if (value != null) {
+                    reply.setHeader(name, value);
+                }
+            }
+            return reply.build();
+        }
+    }
+}
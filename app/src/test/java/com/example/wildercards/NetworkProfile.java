@@ -0,0 +1,82 @@
+package com.example.wildercards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulated network conditions for ReplayDispatcher: time to first byte (latency plus
+ * uniform jitter, with an occasional slow response several times longer) and
+ * downstream bandwidth.
+ */
+class NetworkProfile {
+    static final NetworkProfile LOOPBACK = new NetworkProfile("loopback", 0, 0, 0, 0);
+    static final NetworkProfile WIFI = new NetworkProfile("wifi", 15, 10, 2_500_000, 0.01);
+    static final NetworkProfile LTE = new NetworkProfile("lte", 50, 40, 625_000, 0.02);
+    static final NetworkProfile SLOW_3G = new NetworkProfile("3g", 150, 100, 94_000, 0.03);
+
+    private static final List<NetworkProfile> ALL = Arrays.asList(LOOPBACK, WIFI, LTE, SLOW_3G);
+    private static final int SLOW_MULTIPLIER = 5;
+    static final int THROTTLE_CHUNK = 1024;
+
+    final String name;
+    final long latencyMs;
+    final long jitterMs;
+    final long bytesPerSecond; // 0 for unlimited
+    final double slowFraction;
+
+    NetworkProfile(String name, long latencyMs, long jitterMs, long bytesPerSecond, double slowFraction) {
+        this.name = name;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.bytesPerSecond = bytesPerSecond;
+        this.slowFraction = slowFraction;
+    }
+
+    /**
+     * Parses a comma-separated list of profile names, or "all".
+     */
+    static List<NetworkProfile> parse(String names) {
+        if (names.trim().equalsIgnoreCase("all")) {
+            return ALL;
+        }
+        List<NetworkProfile> profiles = new ArrayList<>();
+        for (String name : names.split(",")) {
+            NetworkProfile match = null;
+            for (NetworkProfile profile : ALL) {
+                if (profile.name.equalsIgnoreCase(name.trim())) {
+                    match = profile;
+                }
+            }
+            if (match == null) {
+                throw new IllegalArgumentException("Unknown network profile: " + name);
+            }
+            profiles.add(match);
+        }
+        return profiles;
+    }
+
+    /**
+     * Draws the time to first byte for one response.
+     */
+    long nextDelayMs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+        return random.nextDouble() < slowFraction ? delay * SLOW_MULTIPLIER : delay;
+    }
+
+    /**
+     * Nanoseconds to send one THROTTLE_CHUNK at this bandwidth.
+     */
+    long chunkPeriodNanos() {
+        return THROTTLE_CHUNK * 1_000_000_000L / bytesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s (%d ms +0-%d ms, %s, %.0f%% slow)", name, latencyMs, jitterMs,
+                bytesPerSecond > 0 ? bytesPerSecond * 8 / 1000 + " kbit/s" : "unthrottled", slowFraction * 100);
+    }
+}
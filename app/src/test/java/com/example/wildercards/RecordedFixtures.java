@@ -0,0 +1,102 @@
+package com.example.wildercards;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+
+/**
+ * A directory of real Wikipedia/Wikidata responses captured by FixtureRecorder.
+ *
+ * Each response is stored as &lt;key&gt;.meta (status code, then the headers the fetcher
+ * reads) and &lt;key&gt;.body, where the key is a hash of the request path and sorted
+ * query; index.tsv maps keys back to requests for browsing.
+ */
+class RecordedFixtures {
+    // Only headers the fetcher or OkHttp looks at are kept
+    private static final String[] KEPT_HEADERS = {"Content-Type", "ETag", "Last-Modified", "Location"};
+
+    private final File dir;
+
+    RecordedFixtures(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * @return The fixtures named by the replay.fixtures system property, or null to use
+     * synthetic responses only
+     */
+    static RecordedFixtures fromProperty() {
+        String path = System.getProperty("replay.fixtures");
+        return path != null && !path.isEmpty() ? new RecordedFixtures(new File(path)) : null;
+    }
+
+    /**
+     * Identifies a request independently of host, port and query parameter order.
+     */
+    static String keyOf(HttpUrl url) {
+        List<String> query = new ArrayList<>();
+        for (int i = 0; i < url.querySize(); i++) {
+            query.add(url.queryParameterName(i) + "=" + url.queryParameterValue(i));
+        }
+        Collections.sort(query);
+        String request = url.encodedPath() + "?" + String.join("&", query);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(request.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (byte b : digest) {
+                key.append(String.format(Locale.ROOT, "%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return The recorded response, or null if this request was not recorded
+     */
+    ReplayDispatcher.Fixture find(HttpUrl url) throws IOException {
+        String key = keyOf(url);
+        File meta = new File(dir, key + ".meta");
+        if (!meta.exists()) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(meta.toPath(), StandardCharsets.UTF_8);
+        Headers.Builder headers = new Headers.Builder();
+        for (String line : lines.subList(1, lines.size())) {
+            headers.add(line);
+        }
+        byte[] body = Files.readAllBytes(new File(dir, key + ".body").toPath());
+        return new ReplayDispatcher.Fixture(Integer.parseInt(lines.get(0).trim()), headers.build(), body);
+    }
+
+    synchronized void save(HttpUrl url, ReplayDispatcher.Fixture fixture) throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        String key = keyOf(url);
+        StringBuilder meta = new StringBuilder().append(fixture.code).append('\n');
+        for (String name : KEPT_HEADERS) {
+            String value = fixture.headers.get(name);
+            if (value != null) {
+                meta.append(name).append(": ").append(value).append('\n');
+            }
+        }
+        Files.write(new File(dir, key + ".meta").toPath(), meta.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(dir, key + ".body").toPath(), fixture.body);
+        Files.write(new File(dir, "index.tsv").toPath(),
+                (key + "\t" + url.encodedPath() + "?" + url.encodedQuery() + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.wildercards;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.net.ServerSocketFactory;
+
+import mockwebserver3.MockWebServer;
+
+/**
+ * Runs WikipediaFetcher.fetchAnimalInfo end to end against the replay corpus served
+ * from a local MockWebServer, and reports latency percentiles, bytes on the wire,
+ * request counts and allocations per lookup, plus the FetchMetrics stage breakdown.
+ *
+ * Needs no network. Every lookup is a cold one: in JVM unit tests the memory cache
+ * is inert (android.util.LruCache is a stub) and the disk tier, alias index and
+ * bundled labels are never initialized.
+ *
+ * Run it through ReplayBenchmarkTest:
+ * ./gradlew :app:testDebugUnitTest --tests '*ReplayBenchmarkTest' -Preplay.profiles=all
+ * Options (Gradle properties or system properties): replay.profiles (loopback, wifi,
+ * lte, 3g or all; default loopback), replay.warmup (lookups before measuring; default
+ * 20), replay.fixtures (a directory written by FixtureRecorder). Reports are written
+ * to build/reports/replay/.
+ */
+class ReplayBenchmark implements Closeable {
+    private final ReplayCorpus corpus;
+    private final ReplayDispatcher dispatcher;
+    private final MockWebServer server = new MockWebServer();
+
+    ReplayBenchmark(ReplayCorpus corpus, RecordedFixtures recorded) throws IOException {
+        this.corpus = corpus;
+        this.dispatcher = new ReplayDispatcher(corpus, recorded);
+        server.setDispatcher(dispatcher);
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.start();
+        String baseUrl = server.url("/").toString();
+        WikiApi.setBaseUrls(baseUrl, baseUrl);
+    }
+
+    /**
+     * Measurements for one profile.
+     */
+    static class Result {
+        final NetworkProfile profile;
+        final Map<ReplayCorpus.Species, AnimalInfo> results = new LinkedHashMap<>();
+        long[] latenciesMs;
+        long requests;
+        long bytes;
+        long allocatedBytes;
+        long syntheticFallbacks;
+        Map<String, Long> requestsByEndpoint;
+        String stages;
+
+        Result(NetworkProfile profile) {
+            this.profile = profile;
+        }
+
+        int failures() {
+            int failures = 0;
+            for (AnimalInfo info : results.values()) {
+                if (info == null) {
+                    failures++;
+                }
+            }
+            return failures;
+        }
+
+        long percentile(int percentile) {
+            if (latenciesMs.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * latenciesMs.length);
+            return latenciesMs[Math.max(0, rank - 1)];
+        }
+
+        String format() {
+            int lookups = Math.max(1, results.size());
+            long total = 0;
+            for (long latency : latenciesMs) {
+                total += latency;
+            }
+
+            StringBuilder report = new StringBuilder();
+            report.append("== Replay benchmark: ").append(profile).append(" ==\n");
+            report.append(String.format(Locale.US, "lookups: %d (%d failed)%n", results.size(), failures()));
+            report.append(String.format(Locale.US, "latency ms: p50=%d p90=%d p99=%d max=%d mean=%d%n",
+                    percentile(50), percentile(90), percentile(99), percentile(100), total / lookups));
+            report.append(String.format(Locale.US, "per lookup: %.2f requests, %.1f KB on the wire, %.1f MB allocated%n",
+                    (double) requests / lookups, bytes / 1024.0 / lookups, allocatedBytes / 1048576.0 / lookups));
+            if (syntheticFallbacks > 0) {
+                report.append("requests without a recording (answered synthetically): ")
+                        .append(syntheticFallbacks).append('\n');
+            }
+            report.append("\n== Requests by endpoint ==\n");
+            for (Map.Entry<String, Long> entry : requestsByEndpoint.entrySet()) {
+                report.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+            }
+            report.append('\n').append(stages);
+            return report.toString();
+        }
+    }
+
+    /**
+     * Looks every species up once under profile, after warmup unmeasured lookups.
+     */
+    Result run(NetworkProfile profile, int warmup) {
+        dispatcher.setProfile(profile);
+        WikiApi.resetLatencyStats();
+        List<ReplayCorpus.Species> species = corpus.species();
+        for (int i = 0; i < Math.min(warmup, species.size()); i++) {
+            WikipediaFetcher.fetchAnimalInfo(species.get(i).label);
+        }
+
+        FetchMetrics.reset();
+        dispatcher.resetCounters();
+        Result result = new Result(profile);
+        long[] latencies = new long[species.size()];
+        long allocated = 0;
+
+        for (int i = 0; i < species.size(); i++) {
+            ReplayCorpus.Species entry = species.get(i);
+            Map<Long, Long> allocationsBefore = allocationSnapshot();
+            long start = System.nanoTime();
+            AnimalInfo info = WikipediaFetcher.fetchAnimalInfo(entry.label);
+            latencies[i] = (System.nanoTime() - start) / 1_000_000;
+            allocated += allocatedSince(allocationsBefore);
+            result.results.put(entry, info);
+        }
+
+        Arrays.sort(latencies);
+        result.latenciesMs = latencies;
+        result.requests = dispatcher.requests();
+        result.bytes = dispatcher.bytesSent();
+        result.allocatedBytes = allocated;
+        result.syntheticFallbacks = dispatcher.syntheticFallbacks();
+        result.requestsByEndpoint = dispatcher.requestsByEndpoint();
+        result.stages = FetchMetrics.report();
+        return result;
+    }
+
+    /**
+     * Writes the report to build/reports/replay/&lt;profile&gt;.txt (relative to the module
+     * directory, where Gradle runs unit tests).
+     */
+    static File writeReport(Result result) throws IOException {
+        File dir = new File("build/reports/replay");
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        File file = new File(dir, result.profile.name + ".txt");
+        Files.write(file.toPath(), result.format().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        WikiApi.setBaseUrls(WikiApi.WIKIPEDIA_BASE_URL, WikiApi.WIKIDATA_BASE_URL);
+    }
+
+    /**
+     * MockWebServer writes headers and body separately; with Nagle's algorithm on, the
+     * body then waits for the client's delayed ACK (~40 ms on Linux), which would swamp
+     * the loopback numbers. Real servers do not have this problem.
+     */
+    private static class NoDelayServerSocketFactory extends ServerSocketFactory {
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            ServerSocket socket = createServerSocket();
+            socket.bind(new InetSocketAddress(port));
+            return socket;
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            ServerSocket socket = createServerSocket();
+            socket.bind(new InetSocketAddress(port), backlog);
+            return socket;
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            ServerSocket socket = createServerSocket();
+            socket.bind(new InetSocketAddress(address, port), backlog);
+            return socket;
+        }
+    }
+
+    /**
+     * Bytes allocated so far by each live thread except MockWebServer's own, so the
+     * fetcher's work on OkHttp and executor threads is counted but serving it is not.
+     * Threads that exit between snapshots are missed, which makes this a lower bound.
+     */
+    private static Map<Long, Long> allocationSnapshot() {
+        Map<Long, Long> snapshot = new HashMap<>();
+        for (Thread thread : liveThreads()) {
+            snapshot.put(thread.getId(), threadAllocatedBytes(thread.getId()));
+        }
+        return snapshot;
+    }
+
+    private static long allocatedSince(Map<Long, Long> before) {
+        long total = 0;
+        for (Thread thread : liveThreads()) {
+            long now = threadAllocatedBytes(thread.getId());
+            Long then = before.get(thread.getId());
+            total += Math.max(0, now - (then != null ? then : 0));
+        }
+        return total;
+    }
+
+    private static List<Thread> liveThreads() {
+        Thread[] threads = new Thread[Thread.activeCount() + 16];
+        int count = Thread.enumerate(threads);
+        List<Thread> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (!threads[i].getName().startsWith("MockWebServer")) {
+                result.add(threads[i]);
+            }
+        }
+        return result;
+    }
+
+    private static long threadAllocatedBytes(long threadId) {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return Math.max(0, ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId));
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.wildercards;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the replay benchmark (see ReplayBenchmark) and checks that every species in
+ * the corpus resolved. With synthetic responses the extracted fields are checked too.
+ */
+public class ReplayBenchmarkTest {
+    @Test
+    public void replayCorpus() throws Exception {
+        ReplayCorpus corpus = ReplayCorpus.load();
+        RecordedFixtures recorded = RecordedFixtures.fromProperty();
+        int warmup = Integer.parseInt(System.getProperty("replay.warmup", "20"));
+
+        try (ReplayBenchmark benchmark = new ReplayBenchmark(corpus, recorded)) {
+            for (NetworkProfile profile : NetworkProfile.parse(System.getProperty("replay.profiles", "loopback"))) {
+                ReplayBenchmark.Result result = benchmark.run(profile, warmup);
+                File report = ReplayBenchmark.writeReport(result);
+                System.out.println(result.format());
+                System.out.println("Report written to " + report.getAbsolutePath());
+
+                assertEquals("Failed lookups under " + profile.name, 0, result.failures());
+                if (recorded == null) {
+                    for (Map.Entry<ReplayCorpus.Species, AnimalInfo> entry : result.results.entrySet()) {
+                        ReplayCorpus.Species species = entry.getKey();
+                        AnimalInfo info = entry.getValue();
+                        assertEquals(species.label, species.title, info.getName());
+                        assertEquals(species.label, species.scientificName, info.getScientificName());
+                        assertEquals(species.label, corpus.expectedHabitat(species), info.getHabitat());
+                        assertNotEquals(species.label, "Unknown", info.getConservationStatus());
+                        assertEquals(species.label, corpus.expectedMass(species), info.getMass());
+                        assertEquals(species.label, species.scientificName.split(" ")[0], info.getParentTaxon());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,553 @@
+package com.example.wildercards;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+
+/**
+ * The species corpus for replay benchmarks (test resource replay/species.tsv), and
+ * synthetic Wikipedia and Wikidata responses for it.
+ *
+ * Responses are generated deterministically per species and shaped and sized like
+ * real ones: 2-4 KB REST summaries; slim wbgetentities documents with a few dozen
+ * to a few hundred referenced statements; and full EntityData documents that add
+ * labels, descriptions, aliases and sitelinks in many languages. Entity ids are
+ * synthetic (Q90000000 and up). Recorded responses (see FixtureRecorder) take
+ * precedence over these where they exist.
+ */
+class ReplayCorpus {
+    private static final String RESOURCE = "replay/species.tsv";
+    private static final int FIRST_ID = 90_000_000;
+    private static final String MODIFIED = "2025-06-01T12:00:00Z";
+    private static final String LAST_MODIFIED = "Sun, 01 Jun 2025 12:00:00 GMT";
+
+    // Referenced items, with labels; the ids match assets/wikidata_labels.tsv
+    private static final String[][] HABITATS = {
+            {"Q4421", "forest"}, {"Q1006733", "grassland"}, {"Q8514", "desert"}, {"Q42320", "savanna"},
+            {"Q9430", "ocean"}, {"Q165", "sea"}, {"Q170321", "wetland"}, {"Q8502", "mountain"},
+            {"Q4022", "river"}, {"Q23397", "lake"}, {"Q11292", "coral reef"}};
+    private static final String[][] RANGES = {
+            {"Q408", "Australia"}, {"Q1019", "Madagascar"}, {"Q664", "New Zealand"},
+            {"Q30", "United States"}, {"Q668", "India"}, {"Q148", "China"}};
+    private static final String[][] STATUSES = {
+            {"Q211005", "Least Concern"}, {"Q719675", "Near Threatened"}, {"Q278113", "Vulnerable"},
+            {"Q11394", "Endangered"}, {"Q219127", "Critically Endangered"}, {"Q3245245", "Data Deficient"}};
+
+    // Typical taxon properties, used for the statements the fetcher does not read
+    private static final String[] FILLER_PROPERTIES = {
+            "P31", "P105", "P171", "P1843", "P18", "P373", "P685", "P846", "P959", "P1939", "P2026",
+            "P3151", "P3186", "P4024", "P5037", "P830", "P938", "P1417", "P2833", "P5055", "P6864",
+            "P7715", "P8915", "P9157", "P10243", "P1420", "P1403", "P181", "P1068", "P1813"};
+    private static final String[] LANGUAGES = {
+            "en", "de", "fr", "es", "it", "nl", "pl", "pt", "ru", "sv", "ja", "zh", "ar", "ko", "fi",
+            "cs", "da", "he", "hu", "id", "nb", "ro", "tr", "uk", "vi", "ca", "eo", "eu", "fa", "gl",
+            "hr", "hy", "ka", "lt", "lv", "ms", "sk", "sl", "sr", "ta", "th", "el", "bg", "et", "is"};
+    private static final String[] WORDS = {
+            "species", "native", "found", "habitat", "population", "adults", "range", "feeds", "mainly",
+            "typically", "large", "small", "known", "wild", "breeding", "season", "young", "males",
+            "females", "diet", "prey", "predators", "conservation", "listed", "threatened", "hunting",
+            "loss", "protected", "areas", "the", "of", "and", "in", "is", "a", "its", "by", "with"};
+
+    /**
+     * One corpus entry. label is what the benchmark looks up; when it differs from title,
+     * the summary request redirects (plurals) or 404s and goes through title search.
+     */
+    static class Species {
+        final int index;
+        final String label;
+        final String title;
+        final String id;
+        final String scientificName;
+
+        Species(int index, String label, String title) {
+            this.index = index;
+            this.label = label;
+            this.title = title;
+            this.id = "Q" + (FIRST_ID + index);
+            String[] words = title.toLowerCase(Locale.ROOT).replaceAll("[^a-z ]", "").split(" ");
+            String genus = words[0].substring(0, 1).toUpperCase(Locale.ROOT) + words[0].substring(1) + "us";
+            this.scientificName = genus + " " + words[words.length - 1] + "i";
+        }
+    }
+
+    private final List<Species> species;
+    private final Map<String, Species> byTitle = new HashMap<>();
+    private final Map<String, Species> byLabel = new HashMap<>();
+    private final Map<String, Species> byId = new HashMap<>();
+    private final Map<String, String> itemLabels = new HashMap<>();
+    private final Map<String, ReplayDispatcher.Fixture> responses = new ConcurrentHashMap<>();
+
+    private ReplayCorpus(List<Species> species) {
+        this.species = Collections.unmodifiableList(species);
+        for (Species entry : species) {
+            byTitle.put(AnimalInfoCache.normalizeKey(entry.title), entry);
+            byLabel.put(AnimalInfoCache.normalizeKey(entry.label), entry);
+            byId.put(entry.id, entry);
+        }
+        for (String[][] items : new String[][][]{HABITATS, RANGES, STATUSES}) {
+            for (String[] item : items) {
+                itemLabels.put(item[0], item[1]);
+            }
+        }
+    }
+
+    static ReplayCorpus load() throws IOException {
+        InputStream in = ReplayCorpus.class.getClassLoader().getResourceAsStream(RESOURCE);
+        if (in == null) {
+            throw new IOException("Missing test resource " + RESOURCE);
+        }
+        List<Species> species = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                species.add(new Species(species.size(), columns[0], columns[columns.length - 1]));
+            }
+        }
+        return new ReplayCorpus(species);
+    }
+
+    List<Species> species() {
+        return species;
+    }
+
+    /**
+     * The habitat a lookup of entry is expected to produce, for checking results.
+     */
+    String expectedHabitat(Species entry) {
+        Random random = random(entry);
+        return random.nextInt(10) < 7 ? HABITATS[random.nextInt(HABITATS.length)][1]
+                : RANGES[random.nextInt(RANGES.length)][1] + " (endemic)";
+    }
+
+    /**
+     * The mass a lookup of entry is expected to produce (every entity has one, in kg).
+     */
+    String expectedMass(Species entry) {
+        return (1 + entry.index % 400) + " kg";
+    }
+
+    /**
+     * Answers a request the way en.wikipedia.org or www.wikidata.org would.
+     */
+    ReplayDispatcher.Fixture respond(HttpUrl url) {
+        String key = RecordedFixtures.keyOf(url);
+        return responses.computeIfAbsent(key, ignored -> generate(url));
+    }
+
+    private ReplayDispatcher.Fixture generate(HttpUrl url) {
+        String path = url.encodedPath();
+        if (path.startsWith("/api/rest_v1/page/summary/")) {
+            return summary(url.pathSegments().get(url.pathSize() - 1).replace('_', ' '));
+        }
+        if (path.startsWith("/wiki/Special:EntityData/")) {
+            String file = url.pathSegments().get(url.pathSize() - 1);
+            Species entry = byId.get(file.replace(".json", ""));
+            return entry != null ? json(200, entity(entry), entry) : notFound();
+        }
+        if (path.equals("/w/api.php")) {
+            String action = url.queryParameter("action");
+            if ("opensearch".equals(action)) {
+                return search(url.queryParameter("search"));
+            }
+            if ("wbgetentities".equals(action)) {
+                return entities(url);
+            }
+        }
+        return notFound();
+    }
+
+    private ReplayDispatcher.Fixture summary(String title) {
+        String key = AnimalInfoCache.normalizeKey(title);
+        Species entry = byTitle.get(key);
+        if (entry != null) {
+            return json(200, summaryJson(entry), entry);
+        }
+        // Plurals are redirects on Wikipedia; other variants are not titles at all
+        Species labelled = byLabel.get(key);
+        if (labelled != null && key.equals(AnimalInfoCache.normalizeKey(labelled.title) + "s")) {
+            return new ReplayDispatcher.Fixture(302, Headers.of(
+                    "Location", labelled.title.replace(' ', '_'),
+                    "Content-Type", "text/html; charset=utf-8"), new byte[0]);
+        }
+        return notFound();
+    }
+
+    private ReplayDispatcher.Fixture search(String query) {
+        Species entry = byLabel.get(AnimalInfoCache.normalizeKey(query));
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginArray().value(query);
+            json.beginArray();
+            if (entry != null) {
+                json.value(entry.title);
+            }
+            json.endArray().beginArray();
+            if (entry != null) {
+                json.value("");
+            }
+            json.endArray().beginArray();
+            if (entry != null) {
+                json.value("https://en.wikipedia.org/wiki/" + entry.title.replace(' ', '_'));
+            }
+            json.endArray().endArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return json(200, out.toString(), null);
+    }
+
+    private ReplayDispatcher.Fixture entities(HttpUrl url) {
+        String props = url.queryParameter("props");
+        boolean labelsOnly = "labels".equals(props);
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject().name("entities").beginObject();
+            String titles = url.queryParameter("titles");
+            if (titles != null) {
+                Species entry = byTitle.get(AnimalInfoCache.normalizeKey(titles.replace('_', ' ')));
+                if (entry != null) {
+                    json.name(entry.id);
+                    writeEntity(json, entry, false);
+                } else {
+                    json.name("-1").beginObject()
+                            .name("site").value(url.queryParameter("sites"))
+                            .name("title").value(titles)
+                            .name("missing").value("")
+                            .endObject();
+                }
+            } else {
+                String ids = url.queryParameter("ids");
+                for (String id : ids != null ? ids.split("\\|") : new String[0]) {
+                    Species entry = byId.get(id);
+                    json.name(id);
+                    if (entry != null && !labelsOnly) {
+                        writeEntity(json, entry, false);
+                    } else if (labelsOnly) {
+                        json.beginObject().name("type").value("item").name("id").value(id)
+                                .name("labels").beginObject()
+                                .name("en").beginObject().name("language").value("en")
+                                .name("value").value(itemLabels.getOrDefault(id, "item " + id)).endObject()
+                                .endObject().endObject();
+                    } else {
+                        json.beginObject().name("id").value(id).name("missing").value("").endObject();
+                    }
+                }
+            }
+            json.endObject().name("success").value(1).endObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return json(200, out.toString(), null);
+    }
+
+    /**
+     * A full Special:EntityData document.
+     */
+    private String entity(Species entry) {
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject().name("entities").beginObject().name(entry.id);
+            writeEntity(json, entry, true);
+            json.endObject().endObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes one entity. Slim entities have what props=info|labels|claims&languages=en
+     * returns; full ones are whole EntityData documents.
+     */
+    private void writeEntity(JsonWriter json, Species entry, boolean full) throws IOException {
+        Random random = random(entry);
+        // Same draws as expectedHabitat()
+        boolean hasHabitat = random.nextInt(10) < 7;
+        String[] habitat = hasHabitat ? HABITATS[random.nextInt(HABITATS.length)] : null;
+        String[] range = hasHabitat ? null : RANGES[random.nextInt(RANGES.length)];
+        String[] status = STATUSES[random.nextInt(STATUSES.length)];
+
+        // Popularity is skewed: most species have a few dozen statements, some hundreds
+        double popularity = Math.pow(random.nextDouble(), 3);
+        int statements = 20 + (int) (popularity * 380);
+        int languages = full ? 5 + (int) (popularity * (LANGUAGES.length - 5)) : 1;
+        int sitelinks = 3 + (int) (popularity * 240);
+
+        json.beginObject();
+        json.name("pageid").value(1_000_000 + entry.index);
+        json.name("ns").value(0);
+        json.name("title").value(entry.id);
+        json.name("lastrevid").value(2_000_000_000L + entry.index);
+        json.name("modified").value(MODIFIED);
+        json.name("type").value("item");
+        json.name("id").value(entry.id);
+
+        json.name("labels").beginObject();
+        for (int i = 0; i < languages; i++) {
+            String value = i == 0 ? entry.title : entry.title + " (" + LANGUAGES[i] + ")";
+            json.name(LANGUAGES[i]).beginObject().name("language").value(LANGUAGES[i])
+                    .name("value").value(value).endObject();
+        }
+        json.endObject();
+
+        if (full) {
+            json.name("descriptions").beginObject();
+            for (int i = 0; i < languages; i++) {
+                json.name(LANGUAGES[i]).beginObject().name("language").value(LANGUAGES[i])
+                        .name("value").value("species of animal").endObject();
+            }
+            json.endObject();
+            json.name("aliases").beginObject();
+            for (int i = 0; i < languages; i += 3) {
+                json.name(LANGUAGES[i]).beginArray().beginObject().name("language").value(LANGUAGES[i])
+                        .name("value").value(entry.label).endObject().endArray();
+            }
+            json.endObject();
+        }
+
+        // The wanted properties sit among the others, as on Wikidata
+        json.name("claims").beginObject();
+        int wantedAt = random.nextInt(Math.max(1, statements / 2));
+        int written = 0;
+        for (int i = 0; i < FILLER_PROPERTIES.length && written < statements; i++) {
+            if (i == wantedAt % FILLER_PROPERTIES.length) {
+                writeClaim(json, entry, "P225", null, entry.scientificName, random);
+                if (habitat != null) {
+                    writeClaim(json, entry, "P2303", habitat[0], null, random);
+                } else {
+                    writeClaim(json, entry, "P2975", range[0], null, random);
+                }
+                writeClaim(json, entry, "P141", status[0], null, random);
+                writeQuantityClaim(json, entry, "P2067", "+" + (1 + entry.index % 400), "Q11570", random);
+            }
+            int count = Math.max(1, (statements - written) / (FILLER_PROPERTIES.length - i));
+            json.name(FILLER_PROPERTIES[i]).beginArray();
+            for (int j = 0; j < count; j++) {
+                if (j % 2 == 0) {
+                    writeStatement(json, entry, FILLER_PROPERTIES[i], "Q" + (5_000_000 + random.nextInt(1_000_000)), null, random);
+                } else {
+                    writeStatement(json, entry, FILLER_PROPERTIES[i], null, Long.toString(random.nextLong() & 0xffffffffL), random);
+                }
+            }
+            json.endArray();
+            written += count;
+        }
+        json.endObject();
+
+        if (full) {
+            json.name("sitelinks").beginObject();
+            for (int i = 0; i < sitelinks; i++) {
+                String site = LANGUAGES[i % LANGUAGES.length] + (i < LANGUAGES.length ? "wiki" : "wiki" + (i / LANGUAGES.length));
+                json.name(site).beginObject().name("site").value(site)
+                        .name("title").value(entry.title)
+                        .name("badges").beginArray().endArray()
+                        .name("url").value("https://" + LANGUAGES[i % LANGUAGES.length] + ".wikipedia.org/wiki/" +
+                                entry.title.replace(' ', '_'))
+                        .endObject();
+            }
+            json.endObject();
+        }
+        json.endObject();
+    }
+
+    private void writeClaim(JsonWriter json, Species entry, String property, String itemId, String text,
+                            Random random) throws IOException {
+        json.name(property).beginArray();
+        writeStatement(json, entry, property, itemId, text, random);
+        json.endArray();
+    }
+
+    private void writeQuantityClaim(JsonWriter json, Species entry, String property, String amount, String unitId,
+                                    Random random) throws IOException {
+        json.name(property).beginArray().beginObject();
+        json.name("mainsnak").beginObject();
+        json.name("snaktype").value("value");
+        json.name("property").value(property);
+        json.name("hash").value(hex(random, 40));
+        json.name("datavalue").beginObject()
+                .name("value").beginObject()
+                .name("amount").value(amount)
+                .name("unit").value("http://www.wikidata.org/entity/" + unitId)
+                .endObject()
+                .name("type").value("quantity").endObject();
+        json.name("datatype").value("quantity");
+        json.endObject();
+        json.name("type").value("statement");
+        json.name("id").value(entry.id + "$" + hex(random, 32));
+        json.name("rank").value("normal");
+        json.endObject().endArray();
+    }
+
+    /**
+     * A statement with one reference (stated in, retrieved), like most taxon statements.
+     */
+    private void writeStatement(JsonWriter json, Species entry, String property, String itemId, String text,
+                                Random random) throws IOException {
+        json.beginObject();
+        json.name("mainsnak");
+        writeSnak(json, property, itemId, text, random);
+        json.name("type").value("statement");
+        json.name("id").value(entry.id + "$" + hex(random, 32));
+        json.name("rank").value("normal");
+        json.name("references").beginArray().beginObject();
+        json.name("hash").value(hex(random, 40));
+        json.name("snaks").beginObject();
+        json.name("P248").beginArray();
+        writeSnak(json, "P248", "Q" + (20_000_000 + random.nextInt(100)), null, random);
+        json.endArray();
+        json.name("P813").beginArray().beginObject()
+                .name("snaktype").value("value").name("property").value("P813")
+                .name("datavalue").beginObject()
+                .name("value").beginObject()
+                .name("time").value("+2024-0" + (1 + random.nextInt(9)) + "-01T00:00:00Z")
+                .name("timezone").value(0).name("before").value(0).name("after").value(0)
+                .name("precision").value(11)
+                .name("calendarmodel").value("http://www.wikidata.org/entity/Q1985727")
+                .endObject()
+                .name("type").value("time").endObject()
+                .name("datatype").value("time")
+                .endObject().endArray();
+        json.endObject();
+        json.name("snaks-order").beginArray().value("P248").value("P813").endArray();
+        json.endObject().endArray();
+        json.endObject();
+    }
+
+    private void writeSnak(JsonWriter json, String property, String itemId, String text, Random random)
+            throws IOException {
+        json.beginObject();
+        json.name("snaktype").value("value");
+        json.name("property").value(property);
+        json.name("hash").value(hex(random, 40));
+        json.name("datavalue").beginObject();
+        if (itemId != null) {
+            json.name("value").beginObject()
+                    .name("entity-type").value("item")
+                    .name("numeric-id").value(Long.parseLong(itemId.substring(1)))
+                    .name("id").value(itemId)
+                    .endObject();
+            json.name("type").value("wikibase-entityid");
+            json.endObject();
+            json.name("datatype").value("wikibase-item");
+        } else {
+            json.name("value").value(text);
+            json.name("type").value("string");
+            json.endObject();
+            json.name("datatype").value(property.equals("P225") ? "string" : "external-id");
+        }
+        json.endObject();
+    }
+
+    private String summaryJson(Species entry) {
+        Random random = new Random(entry.index * 7919L);
+        String file = entry.title.replace(' ', '_') + "_" + entry.index + ".jpg";
+        String hash = hex(random, 2);
+        String imagePath = hash.charAt(0) + "/" + hash;
+        int originalWidth = 800 + random.nextInt(5200);
+        int originalHeight = originalWidth * 2 / 3;
+        String encodedTitle = entry.title.replace(' ', '_');
+
+        StringBuilder extract = new StringBuilder(entry.title).append(" is a ");
+        int words = 80 + random.nextInt(180);
+        for (int i = 0; i < words; i++) {
+            extract.append(WORDS[random.nextInt(WORDS.length)]).append(i % 15 == 14 ? ". " : " ");
+        }
+        extract.append("found in the wild.");
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter json = new JsonWriter(out)) {
+            json.beginObject();
+            json.name("type").value("standard");
+            json.name("title").value(entry.title);
+            json.name("displaytitle").value("<span class=\"mw-page-title-main\">" + entry.title + "</span>");
+            json.name("namespace").beginObject().name("id").value(0).name("text").value("").endObject();
+            json.name("wikibase_item").value(entry.id);
+            json.name("titles").beginObject()
+                    .name("canonical").value(encodedTitle)
+                    .name("normalized").value(entry.title)
+                    .name("display").value("<span class=\"mw-page-title-main\">" + entry.title + "</span>")
+                    .endObject();
+            json.name("pageid").value(1_000_000 + entry.index);
+            json.name("thumbnail").beginObject()
+                    .name("source").value("https://upload.wikimedia.org/wikipedia/commons/thumb/" + imagePath +
+                            "/" + file + "/330px-" + file)
+                    .name("width").value(330).name("height").value(220).endObject();
+            json.name("originalimage").beginObject()
+                    .name("source").value("https://upload.wikimedia.org/wikipedia/commons/" + imagePath + "/" + file)
+                    .name("width").value(originalWidth).name("height").value(originalHeight).endObject();
+            json.name("lang").value("en");
+            json.name("dir").value("ltr");
+            json.name("revision").value(Long.toString(1_200_000_000L + entry.index));
+            json.name("tid").value(hex(random, 8) + "-" + hex(random, 4) + "-11f0-" + hex(random, 4) + "-" + hex(random, 12));
+            json.name("timestamp").value(MODIFIED);
+            json.name("description").value("Species of animal");
+            json.name("description_source").value("local");
+            json.name("content_urls").beginObject();
+            for (String site : new String[]{"desktop", "mobile"}) {
+                String host = site.equals("desktop") ? "https://en.wikipedia.org" : "https://en.m.wikipedia.org";
+                json.name(site).beginObject()
+                        .name("page").value(host + "/wiki/" + encodedTitle)
+                        .name("revisions").value(host + "/wiki/" + encodedTitle + "?action=history")
+                        .name("edit").value(host + "/wiki/" + encodedTitle + "?action=edit")
+                        .name("talk").value(host + "/wiki/Talk:" + encodedTitle)
+                        .endObject();
+            }
+            json.endObject();
+            json.name("extract").value(extract.toString());
+            json.name("extract_html").value("<p><b>" + entry.title + "</b>" + extract.substring(entry.title.length()) + "</p>");
+            json.endObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    private ReplayDispatcher.Fixture json(int code, String body, Species entry) {
+        Headers.Builder headers = new Headers.Builder()
+                .add("Content-Type", "application/json; charset=utf-8")
+                .add("Last-Modified", LAST_MODIFIED);
+        if (entry != null) {
+            headers.add("ETag", "W/\"" + (1_200_000_000L + entry.index) + "\"");
+        }
+        return new ReplayDispatcher.Fixture(code, headers.build(), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ReplayDispatcher.Fixture notFound() {
+        return new ReplayDispatcher.Fixture(404, Headers.of("Content-Type", "application/problem+json"),
+                ("{\"type\":\"https://mediawiki.org/wiki/HyperSwitch/errors/not_found\"," +
+                        "\"title\":\"Not found.\",\"method\":\"get\",\"detail\":\"Page or revision not found.\"}")
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Random random(Species entry) {
+        return new Random(entry.index * 31L + entry.title.hashCode());
+    }
+
+    private static String hex(Random random, int length) {
+        StringBuilder hex = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.wildercards;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.RecordedRequest;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okio.Buffer;
+
+/**
+ * Serves the replay corpus from a MockWebServer: recorded responses where there are
+ * any, synthetic ones otherwise. Bodies are gzipped when the client accepts it (as the
+ * real servers do), then delayed and throttled according to the current NetworkProfile.
+ * Counts requests and the bytes sent.
+ */
+class ReplayDispatcher extends Dispatcher {
+
+    /**
+     * A canned response. The body is stored decoded; the gzipped form is made once.
+     */
+    static class Fixture {
+        final int code;
+        final Headers headers;
+        final byte[] body;
+        private volatile byte[] gzipped;
+
+        Fixture(int code, Headers headers, byte[] body) {
+            this.code = code;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        byte[] gzipped() {
+            byte[] result = gzipped;
+            if (result == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(body);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                result = out.toByteArray();
+                gzipped = result;
+            }
+            return result;
+        }
+    }
+
+    private final ReplayCorpus corpus;
+    private final RecordedFixtures recorded;
+    private volatile NetworkProfile profile = NetworkProfile.LOOPBACK;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong syntheticFallbacks = new AtomicLong();
+    private final Map<String, AtomicLong> requestsByEndpoint = new ConcurrentHashMap<>();
+
+    /**
+     * @param recorded Recorded responses to prefer, or null for synthetic ones only
+     */
+    ReplayDispatcher(ReplayCorpus corpus, RecordedFixtures recorded) {
+        this.corpus = corpus;
+        this.recorded = recorded;
+    }
+
+    void setProfile(NetworkProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        HttpUrl url = request.getUrl();
+        requests.incrementAndGet();
+        requestsByEndpoint.computeIfAbsent(LatencyTracker.endpointOf(url), key -> new AtomicLong()).incrementAndGet();
+
+        Fixture fixture = null;
+        if (recorded != null) {
+            try {
+                fixture = recorded.find(url);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (fixture == null) {
+                syntheticFallbacks.incrementAndGet();
+            }
+        }
+        if (fixture == null) {
+            fixture = corpus.respond(url);
+        }
+
+        String acceptEncoding = request.getHeaders().get("Accept-Encoding");
+        boolean gzip = fixture.body.length > 0 && acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] body = gzip ? fixture.gzipped() : fixture.body;
+        bytesSent.addAndGet(body.length);
+
+        MockResponse.Builder response = new MockResponse.Builder()
+                .code(fixture.code)
+                .headers(fixture.headers)
+                .body(new Buffer().write(body));
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+
+        NetworkProfile current = profile;
+        long delayMs = current.nextDelayMs();
+        if (delayMs > 0) {
+            response.headersDelay(delayMs, TimeUnit.MILLISECONDS);
+        }
+        if (current.bytesPerSecond > 0) {
+            response.throttleBody(NetworkProfile.THROTTLE_CHUNK, current.chunkPeriodNanos(), TimeUnit.NANOSECONDS);
+        }
+        return response.build();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long bytesSent() {
+        return bytesSent.get();
+    }
+
+    /**
+     * Requests that had no recording and were answered synthetically.
+     */
+    long syntheticFallbacks() {
+        return syntheticFallbacks.get();
+    }
+
+    Map<String, Long> requestsByEndpoint() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : requestsByEndpoint.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    void resetCounters() {
+        requests.set(0);
+        bytesSent.set(0);
+        syntheticFallbacks.set(0);
+        requestsByEndpoint.clear();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.wildercards;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Joining, cancellation and failure propagation of SingleFlight.
+ */
+public class SingleFlightTest {
+    private static final String KEY = "tiger";
+
+    private final SingleFlight<String> flights = new SingleFlight<>();
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test(timeout = 10_000)
+    public void concurrentRunsShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = threads.submit(() -> flights.run(KEY, () -> {
+            executions.incrementAndGet();
+            release.await();
+            return "result";
+        }));
+        awaitInFlight();
+        Future<String> second = threads.submit(() -> flights.run(KEY, () -> {
+            executions.incrementAndGet();
+            return "second";
+        }));
+        Thread.sleep(100); // Let the second caller join
+        release.countDown();
+
+        assertEquals("result", first.get());
+        assertEquals("result", second.get());
+        assertEquals(1, executions.get());
+        assertFalse(flights.isInFlight(KEY));
+    }
+
+    @Test(timeout = 10_000)
+    public void exceptionReachesJoiners() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = threads.submit(() -> flights.run(KEY, () -> {
+            release.await();
+            throw new IOException("boom");
+        }));
+        awaitInFlight();
+        Future<String> second = threads.submit(() -> flights.run(KEY, () -> "unused"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertCause(IOException.class, first);
+        assertCause(IOException.class, second);
+    }
+
+    @Test(timeout = 10_000)
+    public void errorReachesJoinersInsteadOfHangingThem() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = threads.submit(() -> flights.run(KEY, () -> {
+            release.await();
+            throw new StackOverflowError();
+        }));
+        awaitInFlight();
+        Future<String> second = threads.submit(() -> flights.run(KEY, () -> "unused"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertCause(StackOverflowError.class, first);
+        assertCause(StackOverflowError.class, second);
+        assertFalse(flights.isInFlight(KEY));
+    }
+
+    @Test(timeout = 10_000)
+    public void submittedErrorCompletesTheFuture() throws Exception {
+        // The error is rethrown on the worker after completing the future
+        Executor swallowing = runnable -> {
+            try {
+                runnable.run();
+            } catch (StackOverflowError expected) {
+                // Would otherwise kill the worker thread
+            }
+        };
+        SingleFlight<String>.Subscription subscription = flights.submit(KEY, swallowing, () -> {
+            throw new StackOverflowError();
+        }, null);
+
+        try {
+            subscription.future().get();
+            fail("Expected the error");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof StackOverflowError);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void submittedWorkIsCancelledOnlyByTheLastSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger cancels = new AtomicInteger();
+        SingleFlight<String>.Subscription first = flights.submit(KEY, threads, () -> {
+            release.await();
+            return "result";
+        }, cancels::incrementAndGet);
+        SingleFlight<String>.Subscription second = flights.submit(KEY, threads, () -> "unused", null);
+        assertSame(first.future(), second.future());
+
+        first.cancel();
+        assertEquals(0, cancels.get());
+        assertFalse(second.future().isDone());
+
+        second.cancel();
+        assertEquals(1, cancels.get());
+        assertTrue(second.future().isCancelled());
+        assertFalse(flights.isInFlight(KEY));
+        release.countDown();
+    }
+
+    @Test(timeout = 10_000)
+    public void syncJoinerThatLeavesDoesNotPinTheFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger cancels = new AtomicInteger();
+        SingleFlight<String>.Subscription subscription = flights.submit(KEY, threads, () -> {
+            release.await();
+            return "result";
+        }, cancels::incrementAndGet);
+
+        // A synchronous caller joins, then gives up waiting
+        Thread joiner = new Thread(() -> {
+            try {
+                flights.run(KEY, () -> "unused");
+            } catch (Exception expected) {
+                // Interrupted
+            }
+        });
+        joiner.start();
+        while (joiner.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        joiner.interrupt();
+        joiner.join();
+
+        subscription.cancel();
+        assertEquals(1, cancels.get());
+        assertTrue(subscription.future().isCancelled());
+        release.countDown();
+    }
+
+    @Test(timeout = 10_000)
+    public void syncJoinerOfCancelledFlightIsNotLeftWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight<String>.Subscription subscription = flights.submit(KEY, threads, () -> {
+            release.await();
+            return "result";
+        }, null);
+        Future<String> joiner = threads.submit(() -> flights.run(KEY, () -> "unused"));
+        Thread.sleep(100);
+
+        // The sync caller still wants the result, so one cancel does not end the flight
+        subscription.cancel();
+        assertFalse(subscription.future().isCancelled());
+        release.countDown();
+        assertEquals("result", joiner.get());
+    }
+
+    @Test(timeout = 10_000)
+    public void keyIsReleasedAfterCompletion() throws Exception {
+        assertEquals("one", flights.run(KEY, () -> "one"));
+        assertEquals("two", flights.run(KEY, () -> "two"));
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (!flights.isInFlight(KEY)) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void assertCause(Class<? extends Throwable> expected, Future<?> future)
+            throws InterruptedException {
+        try {
+            future.get();
+            fail("Expected " + expected.getSimpleName());
+        } catch (ExecutionException e) {
+            assertTrue("Got " + e.getCause(), expected.isInstance(e.getCause()));
+        } catch (CancellationException e) {
+            fail("Cancelled instead of " + expected.getSimpleName());
+        }
+    }
+}
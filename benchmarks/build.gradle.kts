@@ -0,0 +1,42 @@
+// JMH microbenchmarks for the app's JSON parsing hot paths. Plain JVM, no Android:
+// ./gradlew :benchmarks:jmh   (results in benchmarks/build/results/jmh/)
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+sourceSets {
+    main {
+        // The app's pure-Java parsing classes, compiled as they are. Only classes with
+        // no Android dependencies can be listed here.
+        java.srcDir("../app/src/main/java")
+        java.include(
+            "com/example/wildercards/WikidataEntity.java",
+            "com/example/wildercards/WikidataEntityParser.java",
+            "com/example/wildercards/AnimalResponse.java",
+            "com/example/wildercards/TopCards.java"
+        )
+        // topCards.json as bundled with the app
+        resources.srcDir("../app/src/main/Assets")
+        resources.include("topCards.json")
+    }
+}
+
+dependencies {
+    implementation(libs.gson)
+    implementation(libs.json)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // Allocation rate per operation next to the timings
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    // e.g. ./gradlew :benchmarks:jmh -Pjmh.includes=Vision
+    (project.findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+}
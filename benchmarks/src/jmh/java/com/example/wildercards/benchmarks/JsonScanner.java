@@ -0,0 +1,182 @@
+package com.example.wildercards.benchmarks;
+
+/**
+ * A minimal pull scanner over a JSON string, for the hand-rolled extractors.
+ *
+ * Unlike JsonReader it never materializes what it skips: member names are compared in
+ * place (nameIs) and skipped values are stepped over by bracket counting, so only
+ * the strings actually extracted are allocated. It trusts its input: there is no
+ * validation beyond what is needed to find the structure, and names are compared
+ * raw, so a name written with escapes does not match its unescaped form.
+ */
+final class JsonScanner {
+    private final String json;
+    private int pos;
+    private int nameStart;
+    private int nameEnd;
+
+    JsonScanner(String json) {
+        this.json = json;
+    }
+
+    void beginObject() {
+        expect('{');
+    }
+
+    void endObject() {
+        expect('}');
+    }
+
+    void beginArray() {
+        expect('[');
+    }
+
+    void endArray() {
+        expect(']');
+    }
+
+    /**
+     * True if the current object or array has another member, consuming the comma
+     * before it.
+     */
+    boolean hasNext() {
+        char c = peek();
+        if (c == ',') {
+            pos++;
+            return true;
+        }
+        return c != '}' && c != ']';
+    }
+
+    /**
+     * The next non-whitespace character, without consuming it.
+     */
+    char peek() {
+        skipWhitespace();
+        return json.charAt(pos);
+    }
+
+    /**
+     * Reads a member name and the colon after it. Check it with nameIs.
+     */
+    void readName() {
+        expect('"');
+        nameStart = pos;
+        pos = endOfString(pos);
+        nameEnd = pos;
+        pos++;
+        expect(':');
+    }
+
+    boolean nameIs(String name) {
+        int length = nameEnd - nameStart;
+        return length == name.length() && json.regionMatches(nameStart, name, 0, length);
+    }
+
+    /**
+     * The last name read, as a string.
+     */
+    String name() {
+        return decode(nameStart, nameEnd);
+    }
+
+    String nextString() {
+        expect('"');
+        int start = pos;
+        pos = endOfString(pos);
+        String value = decode(start, pos);
+        pos++;
+        return value;
+    }
+
+    void skipValue() {
+        char c = peek();
+        if (c == '"') {
+            pos = endOfString(pos + 1) + 1;
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = json.charAt(pos);
+                if (c == '"') {
+                    pos = endOfString(pos + 1);
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                pos++;
+            } while (depth > 0);
+        } else {
+            // Number, true, false or null
+            while (pos < json.length() && ",}] \t\r\n".indexOf(json.charAt(pos)) < 0) {
+                pos++;
+            }
+        }
+    }
+
+    private void expect(char expected) {
+        skipWhitespace();
+        if (pos >= json.length() || json.charAt(pos) != expected) {
+            throw new IllegalStateException("Expected '" + expected + "' at offset " + pos);
+        }
+        pos++;
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    /**
+     * @param from Offset just after the opening quote
+     * @return Offset of the closing quote
+     */
+    private int endOfString(int from) {
+        int i = from;
+        while (true) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                return i;
+            }
+            i += c == '\\' ? 2 : 1;
+        }
+    }
+
+    private String decode(int start, int end) {
+        int i = start;
+        while (i < end && json.charAt(i) != '\\') {
+            i++;
+        }
+        if (i == end) {
+            return json.substring(start, end);
+        }
+        StringBuilder out = new StringBuilder(end - start);
+        out.append(json, start, i);
+        while (i < end) {
+            char c = json.charAt(i++);
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            char escaped = json.charAt(i++);
+            switch (escaped) {
+                case 'b': out.append('\b'); break;
+                case 'f': out.append('\f'); break;
+                case 'n': out.append('\n'); break;
+                case 'r': out.append('\r'); break;
+                case 't': out.append('\t'); break;
+                case 'u':
+                    out.append((char) Integer.parseInt(json.substring(i, i + 4), 16));
+                    i += 4;
+                    break;
+                default: out.append(escaped); break; // " \ /
+            }
+        }
+        return out.toString();
+    }
+}
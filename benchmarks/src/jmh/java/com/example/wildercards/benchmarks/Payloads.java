@@ -0,0 +1,75 @@
+package com.example.wildercards.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads the benchmark payloads from the classpath. Wikidata entities are stored
+ * gzipped (they are large); topCards.json is the asset bundled with the app.
+ *
+ * The Wikidata entities are synthetic: tools/benchmark_payloads/make_wikidata_entities.py
+ * generates them in the shape of Special:EntityData output, modelled on tiger (Q19939)
+ * and lion (Q140). Run it with --fetch to replace them with the recorded responses.
+ */
+final class Payloads {
+    private static final int LARGE_TOP_CARDS = 500;
+
+    private Payloads() {
+    }
+
+    /**
+     * @param size "typical" (synthetic tiger: ~150 labels and sitelinks, ~110 statements)
+     *             or "large" (synthetic lion: ~200 labels and sitelinks, ~230 statements)
+     */
+    static String wikidataEntity(String size) {
+        return read("/payloads/wikidata_entity_" + size + ".json.gz");
+    }
+
+    /**
+     * @param kind "web" (a specific web entity is found) or "labels" (everything in
+     *             webDetection is generic, so it falls through to the label annotations)
+     */
+    static String visionResponse(String kind) {
+        return read("/payloads/vision_response_" + kind + ".json");
+    }
+
+    /**
+     * @param size "asset" (topCards.json as bundled) or "large" (a generated list of
+     *             LARGE_TOP_CARDS cards, for a catalog that has grown)
+     */
+    static String topCards(String size) {
+        if (size.equals("asset")) {
+            return read("/topCards.json");
+        }
+        StringBuilder json = new StringBuilder("{\n  \"animals\": [\n");
+        for (int i = 0; i < LARGE_TOP_CARDS; i++) {
+            json.append(String.format(Locale.US,
+                    "    {\n      \"name\": \"Animal %d\",\n      \"imageResource\": \"animal_%d\"\n    }", i, i));
+            json.append(i < LARGE_TOP_CARDS - 1 ? ",\n" : "\n");
+        }
+        return json.append("  ]\n}").toString();
+    }
+
+    private static String read(String resource) {
+        try (InputStream raw = Payloads.class.getResourceAsStream(resource)) {
+            if (raw == null) {
+                throw new IllegalArgumentException("Missing payload: " + resource);
+            }
+            InputStream in = resource.endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.wildercards.benchmarks;
+
+import com.example.wildercards.AnimalResponse;
+import com.example.wildercards.TopCards;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading topCards.json into a list of TopCards, as MainActivity.loadAnimalsFromJson
+ * does. gsonReflection is the app's code, which makes a new Gson for every call;
+ * sharedGson reuses one, to show how much of the cost is Gson's own setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopCardsBenchmark {
+    @Param({"asset", "large"})
+    public String payload;
+
+    private String json;
+    private final Gson gson = new Gson();
+
+    @Setup
+    public void setUp() throws IOException {
+        json = Payloads.topCards(payload);
+
+        List<TopCards> expected = gsonReflection();
+        if (expected.isEmpty()) {
+            throw new IllegalStateException("gsonReflection read no cards");
+        }
+        check("sharedGson", expected, sharedGson());
+        check("orgJson", expected, orgJson());
+        check("gsonTree", expected, gsonTree());
+        check("gsonStreaming", expected, gsonStreaming());
+        check("handRolled", expected, handRolled());
+    }
+
+    @Benchmark
+    public List<TopCards> gsonReflection() {
+        return new Gson().fromJson(json, AnimalResponse.class).getAnimals();
+    }
+
+    @Benchmark
+    public List<TopCards> sharedGson() {
+        return gson.fromJson(json, AnimalResponse.class).getAnimals();
+    }
+
+    @Benchmark
+    public List<TopCards> orgJson() {
+        JSONArray animals = new JSONObject(json).getJSONArray("animals");
+        List<TopCards> cards = new ArrayList<>(animals.length());
+        for (int i = 0; i < animals.length(); i++) {
+            JSONObject animal = animals.getJSONObject(i);
+            cards.add(new TopCards(animal.optString("name", null), animal.optString("imageResource", null)));
+        }
+        return cards;
+    }
+
+    @Benchmark
+    public List<TopCards> gsonTree() {
+        List<TopCards> cards = new ArrayList<>();
+        for (JsonElement element : JsonParser.parseString(json).getAsJsonObject().getAsJsonArray("animals")) {
+            JsonObject animal = element.getAsJsonObject();
+            cards.add(new TopCards(stringOrNull(animal.get("name")), stringOrNull(animal.get("imageResource"))));
+        }
+        return cards;
+    }
+
+    @Benchmark
+    public List<TopCards> gsonStreaming() throws IOException {
+        List<TopCards> cards = new ArrayList<>();
+        JsonReader reader = new JsonReader(new StringReader(json));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("animals")) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String name = null;
+                String imageResource = null;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String field = reader.nextName();
+                    if (field.equals("name")) {
+                        name = reader.nextString();
+                    } else if (field.equals("imageResource")) {
+                        imageResource = reader.nextString();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                cards.add(new TopCards(name, imageResource));
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        return cards;
+    }
+
+    @Benchmark
+    public List<TopCards> handRolled() {
+        List<TopCards> cards = new ArrayList<>();
+        JsonScanner scanner = new JsonScanner(json);
+        scanner.beginObject();
+        while (scanner.hasNext()) {
+            scanner.readName();
+            if (!scanner.nameIs("animals")) {
+                scanner.skipValue();
+                continue;
+            }
+            scanner.beginArray();
+            while (scanner.hasNext()) {
+                String name = null;
+                String imageResource = null;
+                scanner.beginObject();
+                while (scanner.hasNext()) {
+                    scanner.readName();
+                    if (scanner.nameIs("name")) {
+                        name = scanner.nextString();
+                    } else if (scanner.nameIs("imageResource")) {
+                        imageResource = scanner.nextString();
+                    } else {
+                        scanner.skipValue();
+                    }
+                }
+                scanner.endObject();
+                cards.add(new TopCards(name, imageResource));
+            }
+            scanner.endArray();
+        }
+        scanner.endObject();
+        return cards;
+    }
+
+    private static String stringOrNull(JsonElement element) {
+        return element != null && !element.isJsonNull() ? element.getAsString() : null;
+    }
+
+    private static void check(String variant, List<TopCards> expected, List<TopCards> actual) {
+        boolean same = expected.size() == actual.size();
+        for (int i = 0; same && i < expected.size(); i++) {
+            same = expected.get(i).getName().equals(actual.get(i).getName())
+                    && expected.get(i).getImageResource().equals(actual.get(i).getImageResource());
+        }
+        if (!same) {
+            throw new IllegalStateException(variant + " disagrees with gsonReflection");
+        }
+    }
+}
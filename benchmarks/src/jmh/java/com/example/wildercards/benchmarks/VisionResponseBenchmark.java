@@ -0,0 +1,323 @@
+package com.example.wildercards.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picking the animal name out of a Cloud Vision annotate response, as
+ * ConfirmImageActivity.findSpecificDescription does: the first specific web entity,
+ * else the first specific best guess label, else the first specific label annotation,
+ * else the first web entity. orgJson is the app's code (minus logging); the streaming
+ * variants read the response once and stop as soon as a specific web entity is found.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisionResponseBenchmark {
+    // Copied from ConfirmImageActivity, which cannot be compiled outside Android
+    private static final List<String> GENERIC_TERMS = Arrays.asList(
+            "animal", "rodent", "mammal", "bird", "fish", "insect", "reptile", "amphibian",
+            "mouse", "rat", "fauna", "chordate", "wildlife", "vertebrate", "invertebrate"
+    );
+
+    @Param({"web", "labels"})
+    public String payload;
+
+    private String json;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = Payloads.visionResponse(payload);
+
+        String expected = orgJson();
+        if (expected == null) {
+            throw new IllegalStateException("orgJson found no description");
+        }
+        String[] variants = {"gsonTree", "gsonStreaming", "handRolled"};
+        String[] results = {gsonTree(), gsonStreaming(), handRolled()};
+        for (int i = 0; i < variants.length; i++) {
+            if (!expected.equals(results[i])) {
+                throw new IllegalStateException(variants[i] + " found " + results[i] + ", orgJson " + expected);
+            }
+        }
+    }
+
+    @Benchmark
+    public String orgJson() {
+        JSONArray responses = new JSONObject(json).getJSONArray("responses");
+        if (responses.length() == 0) {
+            return null;
+        }
+        JSONObject response = responses.getJSONObject(0);
+
+        if (response.has("webDetection")) {
+            JSONObject webDetection = response.getJSONObject("webDetection");
+            if (webDetection.has("webEntities")) {
+                JSONArray webEntities = webDetection.getJSONArray("webEntities");
+                for (int i = 0; i < webEntities.length(); i++) {
+                    JSONObject entity = webEntities.getJSONObject(i);
+                    if (entity.has("description") && isSpecific(entity.getString("description"))) {
+                        return entity.getString("description");
+                    }
+                }
+            }
+            if (webDetection.has("bestGuessLabels")) {
+                JSONArray bestGuessLabels = webDetection.getJSONArray("bestGuessLabels");
+                for (int i = 0; i < bestGuessLabels.length(); i++) {
+                    JSONObject label = bestGuessLabels.getJSONObject(i);
+                    if (label.has("label") && isSpecific(label.getString("label"))) {
+                        return label.getString("label");
+                    }
+                }
+            }
+        }
+        if (response.has("labelAnnotations")) {
+            JSONArray labelAnnotations = response.getJSONArray("labelAnnotations");
+            for (int i = 0; i < labelAnnotations.length(); i++) {
+                JSONObject label = labelAnnotations.getJSONObject(i);
+                if (label.has("description") && isSpecific(label.getString("description"))) {
+                    return label.getString("description");
+                }
+            }
+        }
+        if (response.has("webDetection")) {
+            JSONObject webDetection = response.getJSONObject("webDetection");
+            if (webDetection.has("webEntities")) {
+                JSONArray webEntities = webDetection.getJSONArray("webEntities");
+                if (webEntities.length() > 0) {
+                    return webEntities.getJSONObject(0).optString("description", null);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String gsonTree() {
+        JsonArray responses = JsonParser.parseString(json).getAsJsonObject().getAsJsonArray("responses");
+        if (responses.size() == 0) {
+            return null;
+        }
+        JsonObject response = responses.get(0).getAsJsonObject();
+        JsonObject webDetection = response.getAsJsonObject("webDetection");
+        JsonArray webEntities = webDetection != null ? webDetection.getAsJsonArray("webEntities") : null;
+
+        String found = firstSpecific(webEntities, "description");
+        if (found == null && webDetection != null) {
+            found = firstSpecific(webDetection.getAsJsonArray("bestGuessLabels"), "label");
+        }
+        if (found == null) {
+            found = firstSpecific(response.getAsJsonArray("labelAnnotations"), "description");
+        }
+        if (found == null && webEntities != null && webEntities.size() > 0) {
+            JsonElement description = webEntities.get(0).getAsJsonObject().get("description");
+            found = description != null ? description.getAsString() : null;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public String gsonStreaming() throws IOException {
+        Candidates candidates = new Candidates();
+        JsonReader reader = new JsonReader(new StringReader(json));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("responses")) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            if (reader.hasNext()) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (name.equals("webDetection")) {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            String field = reader.nextName();
+                            if (field.equals("webEntities")) {
+                                readDescriptions(reader, "description", candidates, Candidates.WEB_ENTITY);
+                                if (candidates.get(Candidates.WEB_ENTITY) != null) {
+                                    return candidates.get(Candidates.WEB_ENTITY);
+                                }
+                            } else if (field.equals("bestGuessLabels")) {
+                                readDescriptions(reader, "label", candidates, Candidates.BEST_GUESS);
+                            } else {
+                                reader.skipValue();
+                            }
+                        }
+                        reader.endObject();
+                    } else if (name.equals("labelAnnotations")) {
+                        readDescriptions(reader, "description", candidates, Candidates.LABEL);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                // Only the first response is used; the rest is never read
+                return candidates.best();
+            }
+            reader.endArray();
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String handRolled() {
+        Candidates candidates = new Candidates();
+        JsonScanner scanner = new JsonScanner(json);
+        scanner.beginObject();
+        while (scanner.hasNext()) {
+            scanner.readName();
+            if (!scanner.nameIs("responses")) {
+                scanner.skipValue();
+                continue;
+            }
+            scanner.beginArray();
+            if (scanner.hasNext()) {
+                scanner.beginObject();
+                while (scanner.hasNext()) {
+                    scanner.readName();
+                    if (scanner.nameIs("webDetection")) {
+                        scanner.beginObject();
+                        while (scanner.hasNext()) {
+                            scanner.readName();
+                            if (scanner.nameIs("webEntities")) {
+                                readDescriptions(scanner, "description", candidates, Candidates.WEB_ENTITY);
+                                if (candidates.get(Candidates.WEB_ENTITY) != null) {
+                                    return candidates.get(Candidates.WEB_ENTITY);
+                                }
+                            } else if (scanner.nameIs("bestGuessLabels")) {
+                                readDescriptions(scanner, "label", candidates, Candidates.BEST_GUESS);
+                            } else {
+                                scanner.skipValue();
+                            }
+                        }
+                        scanner.endObject();
+                    } else if (scanner.nameIs("labelAnnotations")) {
+                        readDescriptions(scanner, "description", candidates, Candidates.LABEL);
+                    } else {
+                        scanner.skipValue();
+                    }
+                }
+                return candidates.best();
+            }
+            scanner.endArray();
+        }
+        return null;
+    }
+
+    private static boolean isSpecific(String description) {
+        return !GENERIC_TERMS.contains(description.toLowerCase());
+    }
+
+    private static String firstSpecific(JsonArray array, String field) {
+        if (array == null) {
+            return null;
+        }
+        for (JsonElement element : array) {
+            JsonElement value = element.getAsJsonObject().get(field);
+            if (value != null && isSpecific(value.getAsString())) {
+                return value.getAsString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads an array of objects, offering the named string field of each to candidates.
+     */
+    private static void readDescriptions(JsonReader reader, String field, Candidates candidates, int kind)
+            throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(field)) {
+                    candidates.offer(kind, reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+    }
+
+    private static void readDescriptions(JsonScanner scanner, String field, Candidates candidates, int kind) {
+        scanner.beginArray();
+        while (scanner.hasNext()) {
+            scanner.beginObject();
+            while (scanner.hasNext()) {
+                scanner.readName();
+                if (scanner.nameIs(field)) {
+                    candidates.offer(kind, scanner.nextString());
+                } else {
+                    scanner.skipValue();
+                }
+            }
+            scanner.endObject();
+        }
+        scanner.endArray();
+    }
+
+    /**
+     * The first specific value of each kind seen so far, for the single-pass variants,
+     * which meet the sections in whatever order the response has them.
+     */
+    private static class Candidates {
+        static final int WEB_ENTITY = 0;
+        static final int BEST_GUESS = 1;
+        static final int LABEL = 2;
+
+        private final String[] specific = new String[3];
+        private String firstWebEntity;
+
+        void offer(int kind, String value) {
+            if (kind == WEB_ENTITY && firstWebEntity == null) {
+                firstWebEntity = value;
+            }
+            if (specific[kind] == null && isSpecific(value)) {
+                specific[kind] = value;
+            }
+        }
+
+        String get(int kind) {
+            return specific[kind];
+        }
+
+        String best() {
+            for (String value : specific) {
+                if (value != null) {
+                    return value;
+                }
+            }
+            return firstWebEntity;
+        }
+    }
+}
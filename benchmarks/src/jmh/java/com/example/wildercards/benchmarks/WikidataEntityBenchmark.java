@@ -0,0 +1,370 @@
+package com.example.wildercards.benchmarks;
+
+import com.example.wildercards.WikidataEntity;
+import com.example.wildercards.WikidataEntityParser;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracting the English label and the first value of the claims WikipediaFetcher
+ * uses (strings, items and quantities) from a Special:EntityData response (see
+ * Payloads). Every variant starts from the response body as a string and returns a
+ * WikidataEntity: orgJson is the original WikipediaFetcher code path, gsonStreaming
+ * is the WikidataEntityParser the app uses now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WikidataEntityBenchmark {
+    // Same properties as WikipediaFetcher
+    private static final List<String> PROPERTIES = Arrays.asList(
+            "P225", "P2303", "P2975", "P141", "P2067", "P2250", "P2043", "P2052", "P171");
+    private static final Set<String> WANTED = new HashSet<>(PROPERTIES);
+
+    @Param({"typical", "large"})
+    public String payload;
+
+    private String json;
+    private String entityId;
+    private final WikidataEntityParser parser = new WikidataEntityParser(WANTED);
+
+    @Setup
+    public void setUp() throws IOException {
+        json = Payloads.wikidataEntity(payload);
+        entityId = new JSONObject(json).getJSONObject("entities").keys().next();
+
+        // All variants must extract the same thing, or the comparison means nothing
+        WikidataEntity expected = orgJson();
+        if (expected.getClaim("P2067") == null || !expected.getClaim("P2067").isQuantity()) {
+            throw new IllegalStateException("Payload has no mass; quantity extraction would go unchecked");
+        }
+        check("gsonTree", expected, gsonTree());
+        check("gsonStreaming", expected, gsonStreaming());
+        check("handRolled", expected, handRolled());
+    }
+
+    @Benchmark
+    public WikidataEntity orgJson() {
+        JSONObject entities = new JSONObject(json).getJSONObject("entities");
+        JSONObject source = entities.getJSONObject(entityId);
+        WikidataEntity entity = new WikidataEntity(entityId);
+
+        JSONObject en = source.getJSONObject("labels").optJSONObject("en");
+        if (en != null) {
+            entity.setLabel(en.optString("value", ""));
+        }
+        JSONObject claims = source.getJSONObject("claims");
+        for (String property : PROPERTIES) {
+            if (claims.has(property)) {
+                JSONArray statements = claims.getJSONArray(property);
+                if (statements.length() > 0) {
+                    JSONObject mainsnak = statements.getJSONObject(0).getJSONObject("mainsnak");
+                    if (mainsnak.has("datavalue")) {
+                        putClaim(entity, property, mainsnak.getJSONObject("datavalue"));
+                    }
+                }
+            }
+        }
+        return entity;
+    }
+
+    @Benchmark
+    public WikidataEntity gsonTree() {
+        JsonObject entities = JsonParser.parseString(json).getAsJsonObject().getAsJsonObject("entities");
+        JsonObject source = entities.getAsJsonObject(entityId);
+        WikidataEntity entity = new WikidataEntity(entityId);
+
+        JsonObject en = source.getAsJsonObject("labels").getAsJsonObject("en");
+        if (en != null && en.has("value")) {
+            entity.setLabel(en.get("value").getAsString());
+        }
+        JsonObject claims = source.getAsJsonObject("claims");
+        for (String property : PROPERTIES) {
+            JsonArray statements = claims.getAsJsonArray(property);
+            if (statements != null && statements.size() > 0) {
+                JsonObject mainsnak = statements.get(0).getAsJsonObject().getAsJsonObject("mainsnak");
+                JsonObject datavalue = mainsnak.getAsJsonObject("datavalue");
+                if (datavalue != null) {
+                    putClaim(entity, property, datavalue);
+                }
+            }
+        }
+        return entity;
+    }
+
+    @Benchmark
+    public WikidataEntity gsonStreaming() throws IOException {
+        return parser.parse(new StringReader(json), entityId);
+    }
+
+    @Benchmark
+    public WikidataEntity handRolled() {
+        JsonScanner scanner = new JsonScanner(json);
+        scanner.beginObject();
+        while (scanner.hasNext()) {
+            scanner.readName();
+            if (!scanner.nameIs("entities")) {
+                scanner.skipValue();
+                continue;
+            }
+            scanner.beginObject();
+            while (scanner.hasNext()) {
+                scanner.readName();
+                if (scanner.nameIs(entityId)) {
+                    return readEntity(scanner);
+                }
+                scanner.skipValue();
+            }
+            scanner.endObject();
+        }
+        return null;
+    }
+
+    /**
+     * Reads labels and claims, and returns without reading the rest of the entity.
+     */
+    private WikidataEntity readEntity(JsonScanner scanner) {
+        WikidataEntity entity = new WikidataEntity(entityId);
+        boolean labelsRead = false;
+        boolean claimsRead = false;
+        scanner.beginObject();
+        while (scanner.hasNext() && !(labelsRead && claimsRead)) {
+            scanner.readName();
+            if (scanner.nameIs("labels")) {
+                scanner.beginObject();
+                while (scanner.hasNext()) {
+                    scanner.readName();
+                    if (scanner.nameIs("en")) {
+                        entity.setLabel(readField(scanner, "value"));
+                    } else {
+                        scanner.skipValue();
+                    }
+                }
+                scanner.endObject();
+                labelsRead = true;
+            } else if (scanner.nameIs("claims")) {
+                readClaims(scanner, entity);
+                claimsRead = true;
+            } else {
+                scanner.skipValue();
+            }
+        }
+        return entity;
+    }
+
+    private static void readClaims(JsonScanner scanner, WikidataEntity entity) {
+        scanner.beginObject();
+        while (scanner.hasNext()) {
+            scanner.readName();
+            String property = wantedProperty(scanner);
+            if (property == null) {
+                scanner.skipValue();
+                continue;
+            }
+            scanner.beginArray();
+            if (scanner.hasNext()) {
+                // statement -> mainsnak -> datavalue
+                WikidataEntity.ClaimValue value = null;
+                scanner.beginObject();
+                while (scanner.hasNext()) {
+                    scanner.readName();
+                    if (scanner.nameIs("mainsnak")) {
+                        scanner.beginObject();
+                        while (scanner.hasNext()) {
+                            scanner.readName();
+                            if (scanner.nameIs("datavalue")) {
+                                value = readDataValue(scanner);
+                            } else {
+                                scanner.skipValue();
+                            }
+                        }
+                        scanner.endObject();
+                    } else {
+                        scanner.skipValue();
+                    }
+                }
+                scanner.endObject();
+                if (value != null) {
+                    entity.putClaim(property, value);
+                }
+            }
+            while (scanner.hasNext()) {
+                scanner.skipValue();
+            }
+            scanner.endArray();
+        }
+        scanner.endObject();
+    }
+
+    private static String wantedProperty(JsonScanner scanner) {
+        for (String property : PROPERTIES) {
+            if (scanner.nameIs(property)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    private static WikidataEntity.ClaimValue readDataValue(JsonScanner scanner) {
+        String type = null;
+        String text = null;
+        String entityId = null;
+        String amount = null;
+        String unit = null;
+        scanner.beginObject();
+        while (scanner.hasNext()) {
+            scanner.readName();
+            if (scanner.nameIs("type")) {
+                type = scanner.nextString();
+            } else if (scanner.nameIs("value") && scanner.peek() == '"') {
+                text = scanner.nextString();
+            } else if (scanner.nameIs("value") && scanner.peek() == '{') {
+                scanner.beginObject();
+                while (scanner.hasNext()) {
+                    scanner.readName();
+                    if (scanner.nameIs("id")) {
+                        entityId = scanner.nextString();
+                    } else if (scanner.nameIs("text")) {
+                        text = scanner.nextString();
+                    } else if (scanner.nameIs("amount")) {
+                        amount = scanner.nextString();
+                    } else if (scanner.nameIs("unit")) {
+                        unit = scanner.nextString();
+                    } else {
+                        scanner.skipValue();
+                    }
+                }
+                scanner.endObject();
+            } else {
+                scanner.skipValue();
+            }
+        }
+        scanner.endObject();
+        return claimValue(type, text, entityId, amount, unit);
+    }
+
+    /**
+     * Reads one string field of an object and skips the rest of it.
+     */
+    private static String readField(JsonScanner scanner, String field) {
+        String value = "";
+        scanner.beginObject();
+        while (scanner.hasNext()) {
+            scanner.readName();
+            if (scanner.nameIs(field)) {
+                value = scanner.nextString();
+            } else {
+                scanner.skipValue();
+            }
+        }
+        scanner.endObject();
+        return value;
+    }
+
+    private static void putClaim(WikidataEntity entity, String property, JSONObject datavalue) {
+        Object value = datavalue.opt("value");
+        String text = value instanceof String ? (String) value : null;
+        String id = null;
+        String amount = null;
+        String unit = null;
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            id = object.optString("id", null);
+            text = object.optString("text", null);
+            amount = object.optString("amount", null);
+            unit = object.optString("unit", null);
+        }
+        WikidataEntity.ClaimValue claim = claimValue(datavalue.optString("type", null), text, id, amount, unit);
+        if (claim != null) {
+            entity.putClaim(property, claim);
+        }
+    }
+
+    private static void putClaim(WikidataEntity entity, String property, JsonObject datavalue) {
+        JsonElement value = datavalue.get("value");
+        String text = null;
+        String id = null;
+        String amount = null;
+        String unit = null;
+        if (value != null && value.isJsonPrimitive()) {
+            text = value.getAsString();
+        } else if (value != null && value.isJsonObject()) {
+            JsonObject object = value.getAsJsonObject();
+            id = object.has("id") ? object.get("id").getAsString() : null;
+            text = object.has("text") ? object.get("text").getAsString() : null;
+            amount = object.has("amount") ? object.get("amount").getAsString() : null;
+            unit = object.has("unit") ? object.get("unit").getAsString() : null;
+        }
+        String type = datavalue.has("type") ? datavalue.get("type").getAsString() : null;
+        WikidataEntity.ClaimValue claim = claimValue(type, text, id, amount, unit);
+        if (claim != null) {
+            entity.putClaim(property, claim);
+        }
+    }
+
+    /**
+     * The same datavalue types WikidataEntityParser accepts.
+     */
+    private static WikidataEntity.ClaimValue claimValue(String type, String text, String entityId,
+                                                        String amount, String unit) {
+        if ("wikibase-entityid".equals(type)) {
+            return entityId != null ? WikidataEntity.ClaimValue.ofEntity(entityId) : null;
+        }
+        if ("string".equals(type) || "monolingualtext".equals(type) || "external-id".equals(type)) {
+            return text != null ? WikidataEntity.ClaimValue.ofText(text) : null;
+        }
+        if ("quantity".equals(type)) {
+            return amount != null ? WikidataEntity.ClaimValue.ofQuantity(amount, unit) : null;
+        }
+        return null;
+    }
+
+    private static String unitOf(WikidataEntity entity, String property) {
+        WikidataEntity.ClaimValue claim = entity.getClaim(property);
+        return claim != null ? claim.unitId : null;
+    }
+
+    private static void check(String variant, WikidataEntity expected, WikidataEntity actual) {
+        boolean same = actual != null
+                && expected.getLabel().equals(actual.getLabel())
+                && expected.claimCount() == actual.claimCount();
+        for (String property : PROPERTIES) {
+            same = same && expected.getClaimRaw(property).equals(actual.getClaimRaw(property))
+                    && Objects.equals(unitOf(expected, property), unitOf(actual, property));
+        }
+        if (expected.claimCount() == 0) {
+            throw new IllegalStateException("orgJson extracted no claims");
+        }
+        if (!same) {
+            throw new IllegalStateException(variant + " disagrees with orgJson");
+        }
+    }
+}
@@ -25,4 +25,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "WilderCards"
 include(":app")
+include(":benchmarks")
  
\ No newline at end of file
@@ -0,0 +1,223 @@
+#!/usr/bin/env python3
+"""Writes the Wikidata entity payloads of the JMH benchmarks
+(benchmarks/src/jmh/resources/payloads/wikidata_entity_{typical,large}.json.gz).
+
+Usage:
+    python3 tools/benchmark_payloads/make_wikidata_entities.py [--fetch] [output dir]
+
+With --fetch, the real Special:EntityData/<Q>.json responses of the two items are
+recorded: tiger (Q19939) as the typical species and lion (Q140), one of the most
+sitelinked taxa, as the large one. Prefer this whenever the network is available.
+
+Without --fetch the payloads are SYNTHETIC: they are generated offline in the shape of
+Special:EntityData output (same key order, snak/reference structure and datavalue
+types) and modelled on the same two items. The id, taxon name, parent taxon,
+conservation status, habitat and approximate mass, life expectancy, length and top speed
+(quantities with units) are the real items'; they have hundreds of labels,
+descriptions and sitelinks and ~110 (typical) to ~230 (large) statements with references,
+like heavily documented taxa, but the counts are approximate and revision ids, hashes,
+references, identifier values and most non-English labels are made up. Output is deterministic (fixed seed, gzip mtime 0),
+so regenerating does not change the files unless this script changes.
+"""
+
+import gzip
+import hashlib
+import json
+import os
+import random
+import sys
+import urllib.request
+
+HERE = os.path.dirname(os.path.abspath(__file__))
+DEFAULT_OUT = os.path.join(HERE, "..", "..", "benchmarks", "src", "jmh", "resources", "payloads")
+USER_AGENT = "WildercardsApp/1.0 (benchmark payload recorder)"
+ENTITY_URL = "https://www.wikidata.org/wiki/Special:EntityData/{}.json"
+
+# Wikipedia language codes, roughly in order of size; an item with n labels uses the first n
+LANGUAGES = (
+    "en de fr es it nl pl ru ja zh pt sv uk vi ar fa ca sr id ko no fi hu cs tr ro eu ms "
+    "he da bg hy sk eo lt et sl kk ce hr gl ur el be ta az ka th uz la simple nn arz mk "
+    "lv cy bn ast af tg sq ml hi mr te my oc sw ba ky ku br is lb tt ne ga pa an zh-yue "
+    "jv war ceb su io sco vo fy wa cv lmo scn bar sah pms yo ht ia os nds bs mg qu kn gu "
+    "azb ckb am si fo ps yi ug nah mn gd bpy bcl hsb li nap mzn ilo als sa new km or vec "
+    "frr sh mrj mhr hif sd gan wuu bo zh-min-nan diq se hak ace szl lij rue pnb ang ie "
+    "dv bh tl co mai ks gn kv ln so ha ig zu xh rw ak sn ny tw om ti lg ee ff kg wo ss "
+    "st tn ts ve ki ik iu kl chr cr nv pi bi fj sm to ty ch gv kw rm sc nov lad lfn jbo"
+).split()
+
+# Labels known for the modelled items; other languages get a made-up variant
+KNOWN_LABELS = {
+    "tiger": {"en": "tiger", "de": "Tiger", "fr": "tigre", "es": "tigre", "it": "tigre",
+              "nl": "tijger", "pl": "tygrys", "ru": "тигр", "ja": "トラ", "zh": "虎",
+              "pt": "tigre", "sv": "tiger", "uk": "тигр", "la": "Panthera tigris"},
+    "lion": {"en": "lion", "de": "Löwe", "fr": "lion", "es": "león", "it": "leone",
+             "nl": "leeuw", "pl": "lew", "ru": "лев", "ja": "ライオン", "zh": "狮",
+             "pt": "leão", "sv": "lejon", "uk": "лев", "la": "Panthera leo"},
+}
+
+SPECIES = {
+    "typical": {
+        "id": "Q19939", "name": "tiger", "taxon": "Panthera tigris",
+        "parent": "Q127960",        # Panthera
+        "status": "Q11394",         # endangered
+        "habitat": "Q4421",         # forest
+        # (property, amount, unit, sex qualifier): mass and length per sex, as on the item
+        "quantities": [("P2067", "+220", "Q11570", "Q44148"), ("P2067", "+130", "Q11570", "Q43445"),
+                       ("P2250", "+15", "Q577", None), ("P2043", "+2.9", "Q11573", "Q44148"),
+                       ("P2052", "+65", "Q180154", None)],
+        "labels": 150, "aliases": 30, "sitelinks": 150, "common_names": 80,
+    },
+    "large": {
+        "id": "Q140", "name": "lion", "taxon": "Panthera leo",
+        "parent": "Q127960",        # Panthera
+        "status": "Q278113",        # vulnerable
+        "habitat": "Q42320",        # savanna
+        "quantities": [("P2067", "+190", "Q11570", "Q44148"), ("P2067", "+126", "Q11570", "Q43445"),
+                       ("P2250", "+13", "Q577", None), ("P2043", "+250", "Q174728", "Q44148"),
+                       ("P2043", "+175", "Q174728", "Q43445"), ("P2052", "+80", "Q180154", None)],
+        "labels": 202, "aliases": 80, "sitelinks": 202, "common_names": 200,
+    },
+}
+
+# Identifier and media statements every well-documented taxon carries
+EXTERNAL_IDS = ["P685", "P846", "P830", "P959", "P938", "P1417", "P3151", "P2833", "P4024",
+                "P5037", "P5055", "P6864", "P7715", "P8915", "P9157", "P10243", "P3186",
+                "P1939", "P2026", "P815", "P842", "P962", "P2464", "P3099", "P3606"]
+
+
+def sha1(text):
+    return hashlib.sha1(text.encode("utf-8")).hexdigest()
+
+
+def item_value(qid):
+    return {"value": {"entity-type": "item", "numeric-id": int(qid[1:]), "id": qid},
+            "type": "wikibase-entityid"}
+
+
+def snak(prop, datavalue, datatype):
+    return {"snaktype": "value", "property": prop, "hash": sha1(prop + json.dumps(datavalue)),
+            "datavalue": datavalue, "datatype": datatype}
+
+
+def references(rng, prop):
+    refs = []
+    for _ in range(rng.choice([1, 1, 2])):
+        stated_in = "Q" + str(rng.randint(1000000, 99999999))
+        snaks = {
+            "P248": [snak("P248", item_value(stated_in), "wikibase-item")],
+            "P813": [snak("P813", {"value": {
+                "time": "+20%02d-%02d-%02dT00:00:00Z" % (rng.randint(15, 25), rng.randint(1, 12),
+                                                       rng.randint(1, 28)),
+                "timezone": 0, "before": 0, "after": 0, "precision": 11,
+                "calendarmodel": "http://www.wikidata.org/entity/Q1985727"}, "type": "time"}, "time")],
+        }
+        order = ["P248", "P813"]
+        if rng.random() < 0.5:
+            snaks["P854"] = [snak("P854", {"value": "https://example.org/%s/%d" % (prop, rng.randint(1, 10 ** 6)),
+                                           "type": "string"}, "url")]
+            order.append("P854")
+        refs.append({"hash": sha1(json.dumps(snaks)), "snaks": snaks, "snaks-order": order})
+    return refs
+
+
+def statement(rng, qid, prop, datavalue, datatype, qualifiers=None):
+    result = {"mainsnak": snak(prop, datavalue, datatype), "type": "statement",
+              "id": "%s$%s" % (qid, sha1(qid + prop + json.dumps(datavalue))[:32]), "rank": "normal"}
+    if qualifiers:
+        result["qualifiers"] = qualifiers
+        result["qualifiers-order"] = list(qualifiers)
+    result["references"] = references(rng, prop)
+    return result
+
+
+def claims_for(rng, spec):
+    qid = spec["id"]
+    claims = {}
+
+    def add(prop, datavalue, datatype, qualifiers=None):
+        claims.setdefault(prop, []).append(statement(rng, qid, prop, datavalue, datatype, qualifiers))
+
+    add("P31", item_value("Q16521"), "wikibase-item")          # instance of: taxon
+    add("P105", item_value("Q7432"), "wikibase-item")          # taxon rank: species
+    add("P171", item_value(spec["parent"]), "wikibase-item")
+    add("P225", {"value": spec["taxon"], "type": "string"}, "string")
+    add("P141", item_value(spec["status"]), "wikibase-item")
+    add("P2303", item_value(spec["habitat"]), "wikibase-item")
+    # Quantities with units (kg, years, m/cm, km/h); the first statement of each is read
+    for prop, amount, unit, sex in spec["quantities"]:
+        value = {"amount": amount, "unit": "http://www.wikidata.org/entity/" + unit}
+        if rng.random() < 0.5:
+            value["upperBound"] = amount
+            value["lowerBound"] = amount
+        qualifiers = {"P21": [snak("P21", item_value(sex), "wikibase-item")]} if sex else None
+        add(prop, {"value": value, "type": "quantity"}, "quantity", qualifiers)
+    add("P18", {"value": "%s %d.jpg" % (spec["taxon"], rng.randint(1, 99)), "type": "string"},
+        "commonsMedia")
+    add("P181", {"value": "%s distribution.png" % spec["taxon"], "type": "string"}, "commonsMedia")
+    add("P373", {"value": spec["taxon"], "type": "string"}, "string")
+    for prop in EXTERNAL_IDS:
+        add(prop, {"value": str(rng.randint(10000, 9999999)), "type": "string"}, "external-id")
+    # Common names: the bulk of a real taxon's statements, one monolingual text per language
+    for language in LANGUAGES[:spec["common_names"]]:
+        label = KNOWN_LABELS[spec["name"]].get(language, "%s (%s)" % (spec["name"], language))
+        add("P1843", {"value": {"text": label, "language": language}, "type": "monolingualtext"},
+            "monolingualtext")
+    return claims
+
+
+def entity(spec):
+    rng = random.Random(spec["id"])
+    qid = spec["id"]
+    known = KNOWN_LABELS[spec["name"]]
+    languages = LANGUAGES[:spec["labels"]]
+
+    def label(language):
+        return known.get(language, "%s-%s" % (spec["name"], language))
+
+    result = {
+        "pageid": rng.randint(20000, 999999), "ns": 0, "title": qid,
+        "lastrevid": rng.randint(2000000000, 2300000000), "modified": "2025-06-01T12:00:00Z",
+        "type": "item", "id": qid,
+        "labels": {l: {"language": l, "value": label(l)} for l in languages},
+        "descriptions": {l: {"language": l, "value": "species of mammal (%s)" % l} for l in languages},
+        "aliases": {},
+        "claims": claims_for(rng, spec),
+        "sitelinks": {},
+    }
+    for language in languages[:spec["aliases"]]:
+        result["aliases"][language] = [{"language": language, "value": "%s alias %d" % (label(language), i)}
+                                       for i in range(rng.randint(1, 3))]
+    for language in LANGUAGES[:spec["sitelinks"]]:
+        site = language.replace("-", "_") + "wiki"
+        result["sitelinks"][site] = {"site": site, "title": label(language).capitalize(), "badges": []}
+    return {"entities": {qid: result}}
+
+
+def fetch(qid):
+    request = urllib.request.Request(ENTITY_URL.format(qid), headers={"User-Agent": USER_AGENT})
+    with urllib.request.urlopen(request, timeout=30) as response:
+        return response.read()
+
+
+def write(path, data):
+    with open(path, "wb") as f:
+        with gzip.GzipFile(fileobj=f, mode="wb", mtime=0) as out:
+            out.write(data)
+
+
+def main(args):
+    record = "--fetch" in args
+    args = [a for a in args if a != "--fetch"]
+    out_dir = args[0] if args else DEFAULT_OUT
+    for size, spec in SPECIES.items():
+        if record:
+            data = fetch(spec["id"])
+        else:
+            data = json.dumps(entity(spec), ensure_ascii=False, separators=(",", ":")).encode("utf-8")
+        path = os.path.join(out_dir, "wikidata_entity_%s.json.gz" % size)
+        write(path, data)
+        print("%s: %s, %d bytes (%s)" % (path, spec["id"], len(data), "recorded" if record else "synthetic"))
+
+
+if __name__ == "__main__":
+    main(sys.argv[1:])
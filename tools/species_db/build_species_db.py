@@ -0,0 +1,144 @@
+#!/usr/bin/env python3
+"""Builds app/src/main/Assets/species.db, the offline species index read by OfflineSpeciesDb.
+
+Usage:
+    python3 tools/species_db/build_species_db.py [--fetch] [species.tsv] [species.db]
+
+Input is a TSV of: name, title, scientific name, habitat, IUCN abbreviation, thumbnail URL
+(lines starting with # are comments). With --fetch, rows are completed from the Wikipedia
+REST summary and Wikidata before writing (title, thumbnail, scientific name, status).
+
+File layout (all integers big-endian):
+
+    header   10 x int32: magic 'WCSD', version, count, name width, title width,
+             scientific name width, habitat width, status width, thumbnail width, reserved
+    names    count x name width bytes: normalized names, sorted by UTF-8 bytes
+    records  count x (title + scientific + habitat + status + thumbnail) bytes,
+             in the same order as the names
+
+Strings are UTF-8, zero-padded to their field width. Names are normalized the same way as
+AnimalInfoCache.normalizeKey (trimmed, whitespace collapsed, lowercased).
+"""
+
+import json
+import os
+import re
+import struct
+import sys
+import urllib.parse
+import urllib.request
+
+MAGIC = 0x57435344  # "WCSD"
+VERSION = 1
+WIDTHS = {"name": 48, "title": 48, "sci": 64, "habitat": 48, "status": 4, "thumb": 256}
+
+HERE = os.path.dirname(os.path.abspath(__file__))
+DEFAULT_TSV = os.path.join(HERE, "species.tsv")
+DEFAULT_OUT = os.path.join(HERE, "..", "..", "app", "src", "main", "Assets", "species.db")
+
+USER_AGENT = "WildercardsApp/1.0 (species.db generator)"
+STATUS_ABBREV = {
+    "Q211005": "LC", "Q719675": "NT", "Q278113": "VU", "Q11394": "EN", "Q219127": "CR",
+    "Q239509": "EW", "Q237350": "EX", "Q3245245": "DD", "Q3350324": "NE",
+}
+
+
+def normalize(name):
+    return re.sub(r"\s+", " ", name.strip()).lower()
+
+
+def encode(value, width, field, name):
+    data = value.encode("utf-8")
+    if len(data) > width:
+        raise ValueError(f"{name}: {field} is {len(data)} bytes, field width is {width}")
+    return data + b"\0" * (width - len(data))
+
+
+def read_rows(path):
+    rows = []
+    with open(path, encoding="utf-8") as f:
+        for line in f:
+            line = line.rstrip("\n")
+            if not line or line.startswith("#"):
+                continue
+            cols = (line.split("\t") + [""] * 6)[:6]
+            rows.append(dict(zip(["name", "title", "sci", "habitat", "status", "thumb"], cols)))
+    return rows
+
+
+def get_json(url):
+    request = urllib.request.Request(url, headers={"User-Agent": USER_AGENT})
+    with urllib.request.urlopen(request, timeout=30) as response:
+        return json.load(response)
+
+
+def fetch(row):
+    """Completes a row from the Wikipedia summary and its Wikidata entity."""
+    title = urllib.parse.quote((row["title"] or row["name"]).replace(" ", "_"))
+    summary = get_json("https://en.wikipedia.org/api/rest_v1/page/summary/" + title)
+    row["title"] = summary.get("title", row["title"])
+    row["thumb"] = (summary.get("thumbnail") or {}).get("source", row["thumb"])
+
+    qid = summary.get("wikibase_item")
+    if not qid:
+        return
+    entity = get_json("https://www.wikidata.org/w/api.php?action=wbgetentities&format=json"
+                      "&props=claims&ids=" + qid)["entities"][qid]
+    claims = entity.get("claims", {})
+
+    def first(prop):
+        try:
+            return claims[prop][0]["mainsnak"]["datavalue"]["value"]
+        except (KeyError, IndexError):
+            return None
+
+    sci = first("P225")
+    if isinstance(sci, str):
+        row["sci"] = sci
+    status = first("P141")
+    if isinstance(status, dict) and status.get("id") in STATUS_ABBREV:
+        row["status"] = STATUS_ABBREV[status["id"]]
+
+
+def build(rows, out_path):
+    records = {}
+    for row in rows:
+        key = normalize(row["name"])
+        if key in records:
+            print(f"skipping duplicate name: {key}", file=sys.stderr)
+            continue
+        records[key] = row
+
+    keys = sorted(records, key=lambda k: k.encode("utf-8"))
+    header = struct.pack(">10i", MAGIC, VERSION, len(keys), WIDTHS["name"], WIDTHS["title"],
+                         WIDTHS["sci"], WIDTHS["habitat"], WIDTHS["status"], WIDTHS["thumb"], 0)
+
+    names = b"".join(encode(k, WIDTHS["name"], "name", k) for k in keys)
+    body = b"".join(
+        b"".join(encode(records[k][field], WIDTHS[field], field, k)
+                 for field in ("title", "sci", "habitat", "status", "thumb"))
+        for k in keys)
+
+    with open(out_path, "wb") as f:
+        f.write(header + names + body)
+    print(f"wrote {len(keys)} species to {out_path} ({len(header) + len(names) + len(body)} bytes)")
+
+
+def main(argv):
+    do_fetch = "--fetch" in argv
+    args = [a for a in argv if a != "--fetch"]
+    tsv = args[0] if len(args) > 0 else DEFAULT_TSV
+    out = args[1] if len(args) > 1 else DEFAULT_OUT
+
+    rows = read_rows(tsv)
+    if do_fetch:
+        for row in rows:
+            try:
+                fetch(row)
+            except Exception as e:  # keep the curated values for this row
+                print(f"fetch failed for {row['name']}: {e}", file=sys.stderr)
+    build(rows, out)
+
+
+if __name__ == "__main__":
+    main(sys.argv[1:])